@@ -0,0 +1,75 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+/**
+ * Encodes the canvas with the passed ID into an image and hands the result over
+ * to the server-side `javaCanvasCapture` object.
+ *
+ * The canvas is encoded by the browser itself, so the server neither reads back
+ * the whole bitmap of the browser nor encodes it. The image has the size of
+ * the canvas backing store, which accounts for the device pixel ratio of the chart.
+ *
+ * The encoding is asynchronous. Its result, or the failure description, is passed
+ * to the server along with the passed capture ID, so that the server can tell
+ * the results of the timed out captures from the current one.
+ *
+ * @param captureId the ID of the capture assigned by the server
+ * @param canvasId the ID of the canvas to encode
+ * @param mimeType the media type of the image, such as `image/png`
+ * @param quality the compression quality of the lossy formats, from 0 to 1
+ */
+export function encodeCanvas(captureId, canvasId, mimeType, quality) {
+    const capture = window.javaCanvasCapture;
+    const canvas = document.getElementById(canvasId);
+    const source = mimeType === 'image/jpeg' ? overWhite(canvas) : canvas;
+    source.toBlob(blob => {
+        if (!blob) {
+            capture.fail(captureId, `Unable to encode the canvas to '${mimeType}'.`);
+            return;
+        }
+        blob.arrayBuffer()
+            .then(buffer => capture.complete(captureId, buffer))
+            .catch(error => capture.fail(captureId, String(error)));
+    }, mimeType, quality);
+}
+
+/**
+ * Returns a copy of the passed canvas drawn over the white background.
+ *
+ * The formats without the alpha channel would otherwise turn the transparent
+ * background of the chart black.
+ *
+ * @param canvas the canvas to copy
+ * @return {HTMLCanvasElement} the opaque copy of the canvas
+ */
+function overWhite(canvas) {
+    const copy = document.createElement('canvas');
+    copy.width = canvas.width;
+    copy.height = canvas.height;
+    const context = copy.getContext('2d');
+    context.fillStyle = '#ffffff';
+    context.fillRect(0, 0, copy.width, copy.height);
+    context.drawImage(canvas, 0, 0);
+    return copy;
+}
+
+window.encodeCanvas = encodeCanvas;
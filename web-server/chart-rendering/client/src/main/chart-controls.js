@@ -29,23 +29,20 @@ import '@material/web/slider/slider.js';
  * Adds controls for modifying the "Per capita energy use" chart.
  *
  * @param canvasId the ID of the canvas element where the chart is rendered
- * @param data the data used to render the chart
+ * @param entities the names of the countries and regions of the dataset
  * @returns an object containing references to the created controls
  */
-export function addPerCapitaEnergyUseChartControls(canvasId, data) {
+export function addPerCapitaEnergyUseChartControls(canvasId, entities) {
     const controls = addControlsContainer(canvasId);
 
-    const entities = [...new Map(
-        data.map(row => ({display: row[0], value: row[0]}))
-            .map(c => [c.value, c])
-    ).values()];
-    const entitySelector = selector(entities, 'World');
+    const entitySelector = selector(entityOptions(entities), 'World');
     const typeSelector = selector([
         {display: 'Line', value: 'line'},
         {display: 'Bar', value: 'bar'}
     ], 'line');
     const showLabelsCheckbox = checkbox('Show labels');
     const showTrendlineCheckbox = checkbox('Show trendline');
+    const showSummaryCheckbox = checkbox('Show summary');
     const xAxisSlider = slider('Time span', 1970, 2022);
 
     controls.append(
@@ -53,6 +50,7 @@ export function addPerCapitaEnergyUseChartControls(canvasId, data) {
         typeSelector,
         showLabelsCheckbox.label,
         showTrendlineCheckbox.label,
+        showSummaryCheckbox.label,
         xAxisSlider.label
     );
 
@@ -61,6 +59,7 @@ export function addPerCapitaEnergyUseChartControls(canvasId, data) {
         typeSelector: typeSelector,
         showLabelsCheckbox: showLabelsCheckbox.checkbox,
         showTrendlineCheckbox: showTrendlineCheckbox.checkbox,
+        showSummaryCheckbox: showSummaryCheckbox.checkbox,
         xAxisSlider: xAxisSlider.slider
     };
 }
@@ -69,17 +68,13 @@ export function addPerCapitaEnergyUseChartControls(canvasId, data) {
  * Adds controls for modifying the "Energy consumption by source" chart.
  *
  * @param canvasId the ID of the canvas element where the chart is rendered
- * @param data the data used to render the chart
+ * @param entities the names of the countries and regions of the dataset
  * @returns an object containing references to the created controls
  */
-export function addEnergyConsumptionBySourceChartControls(canvasId, data) {
+export function addEnergyConsumptionBySourceChartControls(canvasId, entities) {
     const controls = addControlsContainer(canvasId);
 
-    const entities = [...new Map(
-        data.map(row => ({display: row[0], value: row[0]}))
-            .map(c => [c.value, c])
-    ).values()];
-    const entitySelector = selector(entities, 'World');
+    const entitySelector = selector(entityOptions(entities), 'World');
     const xAxisSlider = slider('Time span', 1970, 2022);
 
     controls.append(
@@ -93,6 +88,13 @@ export function addEnergyConsumptionBySourceChartControls(canvasId, data) {
     };
 }
 
+/**
+ * Returns the options of the selector of the countries and regions.
+ */
+function entityOptions(entities) {
+    return entities.map(entity => ({display: entity, value: entity}));
+}
+
 /**
  * Adds a container that holds the chart controls.
  */
@@ -25,20 +25,6 @@ import ChartDataLabels from 'chartjs-plugin-datalabels';
 import chartTrendline from 'chartjs-plugin-trendline';
 import './parsing';
 
-/**
- * The currently-drawn instance of the "Per capita energy use" chart.
- *
- * @type {Chart}
- */
-let perCapitaEnergyUseChart;
-
-/**
- * The currently-drawn instance of the "Energy consumption by source" chart.
- *
- * @type {Chart}
- */
-let energyConsumptionBySourceChart;
-
 /**
  * Default parameters for the "Per capita energy use" chart.
  *
@@ -47,8 +33,12 @@ let energyConsumptionBySourceChart;
  *     type: string, // 'line' or 'bar'
  *     showLabels: boolean, // whether to show data labels
  *     showTrendline: boolean, // whether to show a trendline
+ *     showSummary: boolean, // whether to show the mean, minimum and maximum lines
+ *     summary: object, // the aggregates of the shown years, as served by `/aggregate`
  *     xMin: number, // the minimum value for the x-axis
  *     xMax: number, // the maximum value for the x-axis
+ *     devicePixelRatio: number, // the ratio of the canvas pixels to the CSS pixels
+ *     maintainAspectRatio: boolean, // whether to keep the default aspect ratio
  * }}
  */
 const perCapitaEnergyUseChartDefaults = {
@@ -56,8 +46,12 @@ const perCapitaEnergyUseChartDefaults = {
     type: 'line',
     showLabels: false,
     showTrendline: false,
+    showSummary: false,
+    summary: null,
     xMin: 1970,
-    xMax: 2022
+    xMax: 2022,
+    devicePixelRatio: 3,
+    maintainAspectRatio: true
 };
 
 /**
@@ -67,12 +61,16 @@ const perCapitaEnergyUseChartDefaults = {
  *     entity: string, // the country or region to visualize the data for
  *     xMin: number, // the minimum value for the x-axis
  *     xMax: number, // the maximum value for the x-axis
+ *     devicePixelRatio: number, // the ratio of the canvas pixels to the CSS pixels
+ *     maintainAspectRatio: boolean, // whether to keep the default aspect ratio
  * }}
  */
 const energyConsumptionBySourceChartDefaults = {
     entity: 'World',
     xMin: 1970,
     xMax: 2022,
+    devicePixelRatio: 3,
+    maintainAspectRatio: true
 };
 
 /**
@@ -80,20 +78,20 @@ const energyConsumptionBySourceChartDefaults = {
  *
  * @param canvas the ID of the canvas element to draw the chart on
  * @param data the data to visualize, in the form of {@link Array}
- * @param params the parameters for the chart. See {@link perCapitaEnergyUseChartDefaults}
+ * @param drawParams the parameters for the chart. See {@link perCapitaEnergyUseChartDefaults}.
+ *                   The omitted parameters take their default values
  */
 export function drawPerCapitaEnergyUseChart(
     canvas,
     data,
-    params = perCapitaEnergyUseChartDefaults
+    drawParams = {}
 ) {
-    if (perCapitaEnergyUseChart) {
-        perCapitaEnergyUseChart.destroy();
-    }
+    const params = {...perCapitaEnergyUseChartDefaults, ...drawParams};
+    destroyChart(canvas);
     const chartData = data;
     const colors = colorScheme(params.type);
 
-    perCapitaEnergyUseChart = new Chart(
+    new Chart(
         document.getElementById(canvas),
         {
             plugins: [ChartDataLabels, chartTrendline],
@@ -109,13 +107,15 @@ export function drawPerCapitaEnergyUseChart(
         if (type === 'line') {
             return {
                 chart: '#c15065',
-                trendline: '#0879ae80'
+                trendline: '#0879ae80',
+                summary: '#153d5a'
             };
         }
         if (type === 'bar') {
             return {
                 chart: '#0879ae80',
-                trendline: '#c15065'
+                trendline: '#c15065',
+                summary: '#153d5a'
             };
         }
         throw new Error(`Unknown chart type: '${type}'.`);
@@ -134,9 +134,41 @@ export function drawPerCapitaEnergyUseChart(
                 backgroundColor: colors.chart,
                 trendlineLinear: trendline()
             },
+            ...summaryDatasets()
         ];
     }
 
+    function summaryDatasets() {
+        const summary = params.showSummary && params.summary
+            ? Object.values(params.summary.columns)[0]
+            : null;
+        if (!summary || summary.count === 0) {
+            return [];
+        }
+        return [
+            {label: 'Mean', value: summary.mean, dash: [6, 4]},
+            {label: 'Min', value: summary.min, dash: [2, 2]},
+            {label: 'Max', value: summary.max, dash: [2, 2]}
+        ].map(line => {
+            return {
+                type: 'line',
+                label: `${line.label}, kWh`,
+                data: [
+                    {x: params.summary.from, y: line.value},
+                    {x: params.summary.to, y: line.value}
+                ],
+                borderColor: colors.summary,
+                backgroundColor: colors.summary,
+                borderDash: line.dash,
+                borderWidth: 1,
+                pointStyle: false,
+                datalabels: {
+                    display: false
+                }
+            };
+        });
+    }
+
     function options() {
         return {
             animation: false,
@@ -164,7 +196,8 @@ export function drawPerCapitaEnergyUseChart(
                     },
                 },
             },
-            devicePixelRatio: 3,
+            devicePixelRatio: params.devicePixelRatio,
+            maintainAspectRatio: params.maintainAspectRatio,
             plugins: {
                 datalabels: {
                     align: 'top',
@@ -209,23 +242,23 @@ export function drawPerCapitaEnergyUseChart(
  *
  * @param canvas the ID of the canvas element to draw the chart on
  * @param data the data to visualize, in the form of {@link Array}
- * @param params the parameters for the chart. See {@link energyConsumptionBySourceChartDefaults}
+ * @param drawParams the parameters for the chart. See {@link energyConsumptionBySourceChartDefaults}.
+ *                   The omitted parameters take their default values
  */
 export function drawEnergyConsumptionBySourceChart(
     canvas,
     data,
-    params = energyConsumptionBySourceChartDefaults
+    drawParams = {}
 ) {
-    if (energyConsumptionBySourceChart) {
-        energyConsumptionBySourceChart.destroy();
-    }
+    const params = {...energyConsumptionBySourceChartDefaults, ...drawParams};
+    destroyChart(canvas);
     const chartData = data
         .filter(row => row[0] === params.entity)
         .sort((a, b) => parseInt(a[2]) - parseInt(b[2]));
     const labels = chartData.map(row => row[2]);
     const colors = colorScheme();
 
-    energyConsumptionBySourceChart = new Chart(
+    new Chart(
         document.getElementById(canvas),
         {
             type: 'line',
@@ -349,7 +382,8 @@ export function drawEnergyConsumptionBySourceChart(
                     },
                 }
             },
-            devicePixelRatio: 3,
+            devicePixelRatio: params.devicePixelRatio,
+            maintainAspectRatio: params.maintainAspectRatio,
             plugins: {
                 legend: {
                     onClick: false
@@ -371,5 +405,20 @@ export function drawEnergyConsumptionBySourceChart(
     }
 }
 
+/**
+ * Destroys the chart previously drawn on the passed canvas, if any.
+ *
+ * The charts are tracked per canvas rather than per chart type, so that the charts
+ * of the same type can be drawn on several canvases at once, as in an atlas.
+ *
+ * @param canvas the ID of the canvas
+ */
+export function destroyChart(canvas) {
+    const chart = Chart.getChart(canvas);
+    if (chart) {
+        chart.destroy();
+    }
+}
+
 window.drawPerCapitaEnergyUseChart = drawPerCapitaEnergyUseChart;
 window.drawEnergyConsumptionBySourceChart = drawEnergyConsumptionBySourceChart;
@@ -0,0 +1,55 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import {csvToArray} from './parsing';
+
+/**
+ * The parsed datasets, keyed by the dataset ID.
+ *
+ * Each entry holds the version of the dataset and its parsed rows.
+ *
+ * @type {Map<string, {version: string, rows: Array}>}
+ */
+const datasets = new Map();
+
+/**
+ * Returns the parsed rows of the dataset with the passed ID and version.
+ *
+ * The dataset content is requested from the server-side `javaDatasets` object
+ * and parsed only if the dataset has not been loaded yet, or its loaded version
+ * is outdated. Otherwise, the previously parsed rows are returned.
+ *
+ * @param id the ID of the dataset
+ * @param version the version of the dataset
+ * @return {Array} the parsed rows of the dataset
+ */
+export function dataset(id, version) {
+    const loaded = datasets.get(id);
+    if (loaded && loaded.version === version) {
+        return loaded.rows;
+    }
+    const rows = csvToArray(window.javaDatasets.csv(id));
+    datasets.set(id, {version: version, rows: rows});
+    return rows;
+}
+
+window.dataset = dataset;
@@ -29,10 +29,7 @@
 export function openFileDownloadDialog(url, filename) {
     const message = document.getElementById('file-download-message');
     message.innerHTML =
-        `Download link: <a href="${url}" download="${filename}">${filename}</a>
-                <br><br>
-                Also, available on the server filesystem as
-                '<i>&lt;project root&gt;/web-server/chart-rendering/server/images/${filename}</i>'.`
+        `Download link: <a href="${url}" download="${filename}">${filename}</a>`
     const dialog = document.getElementById('file-download-dialog');
     dialog.show();
 }
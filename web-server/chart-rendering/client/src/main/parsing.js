@@ -58,4 +58,21 @@ export function csvToArray(strData, strDelimiter) {
     return (arrData);
 }
 
+/**
+ * Converts a series of an entity, as returned by the `/dataset/{id}/series` endpoint,
+ * into the rows of the CSV data parsed by {@link csvToArray}.
+ *
+ * Each row holds the entity, its code, the year and the values of the series columns,
+ * in the order of the columns. The missing values are empty, as in the CSV data.
+ */
+export function seriesToRows(series) {
+    const columns = Object.values(series.columns);
+    return series.years.map((year, index) => [
+        series.entity,
+        series.code,
+        year,
+        ...columns.map(values => values[index] ?? '')
+    ]);
+}
+
 window.csvToArray = csvToArray;
@@ -0,0 +1,298 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+import Chart from 'chart.js/auto';
+import {Context} from 'svgcanvas';
+import './canvas-capture';
+import {destroyChart} from './chart-drawing';
+import {dataset} from './dataset-store';
+
+/**
+ * The IDs of the boxes of the page, only one of which is shown at a time.
+ *
+ * @type {string[]}
+ */
+const boxes = ['chart', 'atlas', 'vector'];
+
+/**
+ * The drawing whose completion the server awaits, if any.
+ *
+ * The drawing is complete once the charts on all of its canvases are rendered.
+ *
+ * @type {{id: string, width: number, height: number, canvases: Set<string>}|null}
+ */
+let pendingDraw = null;
+
+/**
+ * Signals the server that the charts of the pending drawing are rendered.
+ *
+ * The signal is sent once the charts are painted on their canvases, the browser view
+ * fits the charts, and the next frame with the charts is presented. So, the browser's
+ * bitmap contains the complete charts.
+ */
+Chart.register({
+    id: 'renderSignal',
+    afterRender(chart) {
+        if (pendingDraw === null) {
+            return;
+        }
+        pendingDraw.canvases.delete(chart.canvas.id);
+        if (pendingDraw.canvases.size > 0) {
+            return;
+        }
+        const drawing = pendingDraw;
+        pendingDraw = null;
+        whenViewFits(drawing.width, drawing.height, () => {
+            requestAnimationFrame(() => requestAnimationFrame(() => {
+                window.javaRenderSignal.rendered(drawing.id);
+            }));
+        });
+    }
+});
+
+/**
+ * Draws a chart on the canvas of the passed dataset and signals the server-side
+ * `javaRenderSignal` object when it is rendered.
+ *
+ * The chart is laid out in a box of `width` by `height` CSS pixels, which is then
+ * scaled by `scale`. The chart is drawn with the device pixel ratio equal to
+ * `scale`, so the canvas has as many pixels as the scaled box occupies on the screen.
+ *
+ * The failure to draw the chart is passed to the server right away, instead of
+ * letting it wait for the signal in vain.
+ *
+ * @param drawId the ID of the drawing assigned by the server
+ * @param drawFunction the function that draws the chart
+ * @param datasetId the ID of the dataset, which is also the ID of its canvas
+ * @param version the version of the dataset
+ * @param drawParams the parameters for the chart
+ * @param width the width of the chart in CSS pixels
+ * @param height the height of the chart in CSS pixels
+ * @param scale the ratio of the image pixels to the CSS pixels
+ */
+export function drawChart(drawId, drawFunction, datasetId, version, drawParams,
+                          width, height, scale) {
+    try {
+        const box = document.getElementById('chart');
+        box.style.width = `${width}px`;
+        box.style.height = `${height}px`;
+        box.style.transform = `scale(${scale})`;
+        showBox('chart');
+        showCanvas(datasetId);
+        pendingDraw = {
+            id: drawId,
+            width: Math.floor(width * scale),
+            height: Math.floor(height * scale),
+            canvases: new Set([datasetId])
+        };
+        const params = {...drawParams, devicePixelRatio: scale, maintainAspectRatio: false};
+        drawFunction(datasetId, dataset(datasetId, version), params);
+    } catch (error) {
+        pendingDraw = null;
+        window.javaRenderSignal.fail(drawId, String(error));
+    }
+}
+
+/**
+ * Draws several charts of the same size in a grid, and signals the server-side
+ * `javaRenderSignal` object when all of them are rendered.
+ *
+ * Each chart is laid out in a cell of `width` by `height` CSS pixels scaled by `scale`,
+ * just like a single chart drawn by {@link drawChart}. The cells are placed at whole
+ * pixels, so that the server can cut the images of the charts out of the browser's
+ * bitmap. The cells fill the rows of `columns` cells, left to right, top to bottom.
+ *
+ * @param drawId the ID of the drawing assigned by the server
+ * @param charts the charts to draw, each with the drawing function, the dataset ID
+ *               and version, and the parameters for the chart
+ * @param width the width of each chart in CSS pixels
+ * @param height the height of each chart in CSS pixels
+ * @param scale the ratio of the image pixels to the CSS pixels
+ * @param columns the number of charts in a row
+ */
+export function drawAtlas(drawId, charts, width, height, scale, columns) {
+    try {
+        const cellWidth = Math.floor(width * scale);
+        const cellHeight = Math.floor(height * scale);
+        const atlas = document.getElementById('atlas');
+        showBox('atlas');
+        const canvases = atlasCanvases(atlas, charts.length);
+        canvases.forEach((canvas, index) => {
+            const cell = canvas.parentElement.style;
+            cell.left = `${index % columns * cellWidth}px`;
+            cell.top = `${Math.floor(index / columns) * cellHeight}px`;
+            cell.width = `${width}px`;
+            cell.height = `${height}px`;
+            cell.transform = `scale(${scale})`;
+        });
+        pendingDraw = {
+            id: drawId,
+            width: Math.min(charts.length, columns) * cellWidth,
+            height: Math.ceil(charts.length / columns) * cellHeight,
+            canvases: new Set(canvases.map(canvas => canvas.id))
+        };
+        charts.forEach((chart, index) => {
+            const params = {...chart.params, devicePixelRatio: scale, maintainAspectRatio: false};
+            chart.draw(canvases[index].id, dataset(chart.dataset, chart.version), params);
+        });
+    } catch (error) {
+        pendingDraw = null;
+        window.javaRenderSignal.fail(drawId, String(error));
+    }
+}
+
+/**
+ * Returns the passed number of the atlas canvases, creating the missing ones.
+ *
+ * The cells of the atlas beyond the requested number are hidden, and their charts
+ * are destroyed to release the memory.
+ *
+ * @param atlas the box holding the cells of the atlas
+ * @param count the number of canvases to return
+ * @return {HTMLCanvasElement[]} the canvases to draw the charts on
+ */
+function atlasCanvases(atlas, count) {
+    while (atlas.children.length < count) {
+        const cell = document.createElement('div');
+        cell.style.position = 'absolute';
+        cell.style.transformOrigin = '0 0';
+        const canvas = document.createElement('canvas');
+        canvas.id = `atlas-${atlas.children.length}`;
+        cell.appendChild(canvas);
+        atlas.appendChild(cell);
+    }
+    const canvases = [];
+    for (let i = 0; i < atlas.children.length; i++) {
+        const cell = atlas.children[i];
+        const canvas = cell.firstElementChild;
+        if (i < count) {
+            cell.style.display = 'block';
+            canvases.push(canvas);
+        } else {
+            cell.style.display = 'none';
+            destroyChart(canvas.id);
+        }
+    }
+    return canvases;
+}
+
+/**
+ * Draws a chart as an SVG document and hands it over to the server-side
+ * `javaCanvasCapture` object.
+ *
+ * The chart is drawn by the usual drawing function, but on a canvas whose context
+ * records the drawing operations as SVG elements. So, the chart is never rasterized,
+ * and the document stays small and sharp at any size.
+ *
+ * The document is also placed into the page to be printed to PDF, with the page
+ * size equal to the size of the chart.
+ *
+ * @param captureId the ID of the capture assigned by the server
+ * @param drawFunction the function that draws the chart
+ * @param datasetId the ID of the dataset
+ * @param version the version of the dataset
+ * @param drawParams the parameters for the chart
+ * @param width the width of the chart in CSS pixels
+ * @param height the height of the chart in CSS pixels
+ */
+export function drawSvg(captureId, drawFunction, datasetId, version, drawParams,
+                        width, height) {
+    const capture = window.javaCanvasCapture;
+    try {
+        const box = document.getElementById('vector');
+        box.style.width = `${width}px`;
+        box.style.height = `${height}px`;
+        showBox('vector');
+        const canvas = document.getElementById('vector-canvas');
+        const context = new Context({width, height});
+        // Chart.js only accepts the context that refers back to its canvas.
+        context.canvas = canvas;
+        canvas.getContext = () => context;
+        const params = {...drawParams, devicePixelRatio: 1, maintainAspectRatio: false};
+        drawFunction(canvas.id, dataset(datasetId, version), params);
+        const svg = context.getSerializedSvg();
+        // The document is complete, so the chart must not redraw into it on resize.
+        destroyChart(canvas.id);
+        document.getElementById('vector-image').innerHTML = svg;
+        document.getElementById('page-size').textContent =
+            `@page { size: ${width}px ${height}px; margin: 0; }`;
+        capture.complete(captureId, new TextEncoder().encode(svg).buffer);
+    } catch (error) {
+        capture.fail(captureId, String(error));
+    }
+}
+
+/**
+ * Shows the box with the passed ID and hides the other boxes of the page.
+ *
+ * @param boxId the ID of the box to show
+ */
+function showBox(boxId) {
+    boxes.forEach(id => {
+        document.getElementById(id).style.display = id === boxId ? 'block' : 'none';
+    });
+}
+
+/**
+ * Calls back once the browser view is at least of the passed size.
+ *
+ * The server resizes the browser to fit the chart before drawing it,
+ * but the new size may reach the page later than the chart is drawn.
+ *
+ * @param width the minimum width of the view
+ * @param height the minimum height of the view
+ * @param callback the function to call
+ */
+function whenViewFits(width, height, callback) {
+    const fits = () => window.innerWidth >= width && window.innerHeight >= height;
+    if (fits()) {
+        callback();
+        return;
+    }
+    const onResize = () => {
+        if (fits()) {
+            window.removeEventListener('resize', onResize);
+            callback();
+        }
+    };
+    window.addEventListener('resize', onResize);
+}
+
+/**
+ * Shows the canvas with the passed ID and hides the other canvases of the page.
+ *
+ * The server-side rendering page holds a canvas per dataset and loads only once.
+ * Only the canvas of the chart being drawn is displayed, so that the browser's
+ * bitmap contains just this chart. The canvases of the atlas are not affected.
+ *
+ * @param canvasId the ID of the canvas to show
+ */
+export function showCanvas(canvasId) {
+    const canvases = document.getElementById('chart').getElementsByTagName('canvas');
+    for (let i = 0; i < canvases.length; i++) {
+        canvases[i].style.display = canvases[i].id === canvasId ? 'block' : 'none';
+    }
+}
+
+window.drawChart = drawChart;
+window.drawAtlas = drawAtlas;
+window.drawSvg = drawSvg;
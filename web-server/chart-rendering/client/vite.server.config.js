@@ -27,7 +27,7 @@ export default defineConfig({
     build: {
         emptyOutDir: false,
         rollupOptions: {
-            input: './src/main/chart-drawing.js',
+            input: './src/main/render-page.js',
             output: {
                 entryFileNames: 'charts.js',
             }
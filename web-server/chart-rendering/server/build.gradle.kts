@@ -33,6 +33,8 @@ application {
 dependencies {
     implementation(libs.gson)
     implementation(libs.j2html)
+    implementation(libs.micronaut.management)
+    implementation(libs.micronaut.micrometer)
 }
 
 val dependentTasks = listOf("processResources", "inspectRuntimeClasspath")
@@ -44,3 +46,33 @@ dependentTasks.forEach { taskName ->
         dependsOn(":web-server:chart-rendering:client:build")
     }
 }
+
+/**
+ * The class data sharing archive of the server.
+ *
+ * Produced by a training run of the installed distribution, which warms up
+ * the chart rendering and exits. Use it with the same distribution:
+ * `JAVA_OPTS=-XX:SharedArchiveFile=<archive> build/install/server/bin/server`.
+ */
+val cdsArchive = layout.buildDirectory.file("cds/server.jsa")
+
+tasks.register<Exec>("cdsArchive") {
+    group = "distribution"
+    description = "Produces the class data sharing archive from a training run of the server."
+    dependsOn("installDist")
+    outputs.file(cdsArchive)
+
+    val installDir = layout.buildDirectory.dir("install/server")
+    val windows = System.getProperty("os.name").startsWith("Windows")
+    val script = if (windows) "bin/server.bat" else "bin/server"
+    workingDir(installDir)
+    executable(installDir.get().file(script).asFile)
+    environment(
+        "JAVA_OPTS",
+        "-XX:ArchiveClassesAtExit=${cdsArchive.get().asFile} " +
+                "-Dcharts.warm-up.enabled=true -Dcharts.warm-up.exit-when-done=true"
+    )
+    doFirst {
+        cdsArchive.get().asFile.parentFile.mkdirs()
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.OptionalInt;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Reduces the quality of the exported charts under load, and restores it once
+ * the load drops.
+ *
+ * <p>Every {@linkplain AdaptiveQualityConfiguration#getInterval() interval}, the depth
+ * of the {@link RenderQueue} and the mean time the charts took to export during
+ * the interval are checked. If either is above its threshold, the quality is stepped
+ * down by one level. If both are well below, at a quarter of the depth and a half
+ * of the latency, the quality is stepped up by one level. So, a burst of requests
+ * is served a bit coarser rather than timed out, and the quality does not flap
+ * when the load hovers around the thresholds.
+ *
+ * <p>The levels span evenly from the full quality down to the floors of the scale
+ * and of the PNG compression level. The current level is exposed as
+ * the {@code charts.export.quality.level} metric.
+ */
+@Singleton
+final class AdaptiveQuality {
+
+    /**
+     * The logger of the quality changes.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveQuality.class);
+
+    /**
+     * The queue whose depth tells the load.
+     */
+    private final RenderQueue queue;
+
+    /**
+     * The number of the reduced quality levels.
+     */
+    private final int levels;
+
+    /**
+     * The number of the waiting charts at which the quality is reduced.
+     */
+    private final int queueDepth;
+
+    /**
+     * The mean time to export a chart above which the quality is reduced, in nanoseconds.
+     */
+    private final long targetLatency;
+
+    /**
+     * The floor of the scale of the charts.
+     */
+    private final double minScale;
+
+    /**
+     * The configured compression level of the PNG images.
+     */
+    private final int pngCompressionLevel;
+
+    /**
+     * The floor of the compression level of the PNG images.
+     */
+    private final int minPngCompressionLevel;
+
+    /**
+     * The total time the charts took to export during the current interval, in nanoseconds.
+     */
+    private final LongAdder latencies = new LongAdder();
+
+    /**
+     * The number of the charts exported during the current interval.
+     */
+    private final LongAdder exports = new LongAdder();
+
+    /**
+     * The executor checking the load, or {@code null} if the quality is never reduced.
+     */
+    private final ScheduledExecutorService checker;
+
+    /**
+     * The current quality.
+     */
+    private volatile RenderQuality quality = RenderQuality.FULL;
+
+    /**
+     * Creates a new instance, starts checking the load, and registers the metrics.
+     *
+     * @param configuration the configuration of the adaptive quality
+     * @param encoderConfiguration the configuration of the encoders
+     * @param queue the queue whose depth tells the load
+     * @param registry the registry of the application metrics
+     */
+    AdaptiveQuality(AdaptiveQualityConfiguration configuration,
+                    EncoderConfiguration encoderConfiguration,
+                    RenderQueue queue,
+                    MeterRegistry registry) {
+        this.queue = queue;
+        this.levels = Math.max(1, configuration.getLevels());
+        this.queueDepth = configuration.getQueueDepth();
+        this.targetLatency = configuration.getTargetLatency()
+                                          .toNanos();
+        this.minScale = configuration.getMinScale();
+        this.pngCompressionLevel = encoderConfiguration.getPngCompressionLevel();
+        this.minPngCompressionLevel = Math.min(
+                pngCompressionLevel, configuration.getMinPngCompressionLevel()
+        );
+        if (configuration.isEnabled()) {
+            var interval = configuration.getInterval()
+                                        .toMillis();
+            this.checker = Executors.newSingleThreadScheduledExecutor(
+                    new DaemonThreadFactory("quality-checker")
+            );
+            checker.scheduleWithFixedDelay(this::check, interval, interval, MILLISECONDS);
+        } else {
+            this.checker = null;
+        }
+        Gauge.builder("charts.export.quality.level", this, adaptive -> adaptive.quality.level())
+             .register(registry);
+    }
+
+    /**
+     * Returns the quality to export the charts at.
+     */
+    RenderQuality current() {
+        return quality;
+    }
+
+    /**
+     * Records the time it took to export a chart, from the submission to the queue.
+     *
+     * @param nanos the time in nanoseconds
+     */
+    void record(long nanos) {
+        latencies.add(nanos);
+        exports.increment();
+    }
+
+    /**
+     * Checks the load and changes the quality by one level if necessary.
+     */
+    private void check() {
+        var count = exports.sumThenReset();
+        var total = latencies.sumThenReset();
+        var latency = count == 0 ? 0 : total / count;
+        var depth = queue.depth();
+        var level = quality.level();
+        if (depth >= queueDepth || latency > targetLatency) {
+            setLevel(Math.min(levels, level + 1));
+        } else if (depth <= queueDepth / 4 && latency <= targetLatency / 2) {
+            setLevel(Math.max(0, level - 1));
+        }
+    }
+
+    /**
+     * Sets the quality of the passed level.
+     */
+    private void setLevel(int level) {
+        if (level == quality.level()) {
+            return;
+        }
+        if (level == 0) {
+            quality = RenderQuality.FULL;
+        } else {
+            var reduction = (pngCompressionLevel - minPngCompressionLevel) * level / levels;
+            // The level is only set when it is actually lower, so that the key
+            // of an identical image does not differ from the full-quality one.
+            var compressionLevel = reduction > 0
+                                   ? OptionalInt.of(pngCompressionLevel - reduction)
+                                   : OptionalInt.empty();
+            quality = new RenderQuality(
+                    level, (double) level / levels, minScale, compressionLevel
+            );
+        }
+        LOGGER.info("The export quality is set to level {} of {}.", level, levels);
+    }
+
+    /**
+     * Stops checking the load.
+     */
+    @PreDestroy
+    void close() {
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+    }
+}
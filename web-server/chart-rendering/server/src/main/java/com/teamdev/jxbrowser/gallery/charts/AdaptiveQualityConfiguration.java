@@ -0,0 +1,170 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The configuration of the {@link AdaptiveQuality}.
+ *
+ * <p>The values are read from the {@code charts.export.adaptive-quality} section
+ * of {@code application.yml}.
+ */
+@ConfigurationProperties("charts.export.adaptive-quality")
+final class AdaptiveQualityConfiguration {
+
+    /**
+     * Whether the quality is reduced under load.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The number of the reduced quality levels, the last one being at the floors.
+     */
+    private int levels = 3;
+
+    /**
+     * How often the load is checked, and the quality is changed by one level.
+     */
+    private Duration interval = Duration.ofSeconds(1);
+
+    /**
+     * The number of the waiting charts at which the quality is reduced.
+     */
+    private int queueDepth = 16;
+
+    /**
+     * The mean time to export a chart above which the quality is reduced.
+     */
+    private Duration targetLatency = Duration.ofSeconds(2);
+
+    /**
+     * The floor of the scale of the charts.
+     */
+    private double minScale = 1.0;
+
+    /**
+     * The floor of the compression level of the PNG images.
+     */
+    private int minPngCompressionLevel = 1;
+
+    /**
+     * Tells whether the quality is reduced under load.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the quality is reduced under load.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the number of the reduced quality levels.
+     */
+    public int getLevels() {
+        return levels;
+    }
+
+    /**
+     * Sets the number of the reduced quality levels.
+     */
+    public void setLevels(int levels) {
+        this.levels = levels;
+    }
+
+    /**
+     * Returns how often the load is checked.
+     */
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * Sets how often the load is checked.
+     */
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * Returns the number of the waiting charts at which the quality is reduced.
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Sets the number of the waiting charts at which the quality is reduced.
+     */
+    public void setQueueDepth(int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    /**
+     * Returns the mean time to export a chart above which the quality is reduced.
+     */
+    public Duration getTargetLatency() {
+        return targetLatency;
+    }
+
+    /**
+     * Sets the mean time to export a chart above which the quality is reduced.
+     */
+    public void setTargetLatency(Duration targetLatency) {
+        this.targetLatency = targetLatency;
+    }
+
+    /**
+     * Returns the floor of the scale of the charts.
+     */
+    public double getMinScale() {
+        return minScale;
+    }
+
+    /**
+     * Sets the floor of the scale of the charts.
+     */
+    public void setMinScale(double minScale) {
+        this.minScale = minScale;
+    }
+
+    /**
+     * Returns the floor of the compression level of the PNG images.
+     */
+    public int getMinPngCompressionLevel() {
+        return minPngCompressionLevel;
+    }
+
+    /**
+     * Sets the floor of the compression level of the PNG images.
+     */
+    public void setMinPngCompressionLevel(int minPngCompressionLevel) {
+        this.minPngCompressionLevel = minPngCompressionLevel;
+    }
+}
@@ -37,8 +37,19 @@ public final class Application {
 
     /**
      * The "main" entry point.
+     *
+     * <p>In the {@linkplain WarmUpConfiguration#isExitWhenDone() training run}, waits
+     * for the warm-up to finish, and exits once the server, along with the browser
+     * engines, is shut down.
      */
     public static void main(String[] args) {
-        Micronaut.run(Application.class, args);
+        var context = Micronaut.run(Application.class, args);
+        if (context.getBean(WarmUpConfiguration.class)
+                   .isExitWhenDone()) {
+            var warmedUp = context.getBean(ChartWarmUp.class)
+                                  .awaitDone();
+            context.close();
+            System.exit(warmedUp ? 0 : 1);
+        }
     }
 }
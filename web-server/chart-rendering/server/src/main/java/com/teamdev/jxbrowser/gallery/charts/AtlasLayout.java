@@ -0,0 +1,124 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+/**
+ * The grid of charts drawn together in one browser frame.
+ *
+ * <p>The charts of an atlas have the same {@linkplain ChartSize size}. They fill
+ * the rows of the grid left to right, top to bottom, and each of them occupies
+ * a cell of exactly {@linkplain ChartSize#pixelWidth() pixelWidth} by
+ * {@linkplain ChartSize#pixelHeight() pixelHeight} pixels. So, the cells start
+ * at whole pixels, and the images of the charts are cut out of the browser's bitmap
+ * without resampling.
+ *
+ * @param size the size of each chart
+ * @param columns the number of charts in a row
+ * @param count the number of charts
+ */
+record AtlasLayout(ChartSize size, int columns, int count) {
+
+    /**
+     * The maximum width or height of an atlas in pixels.
+     */
+    private static final int MAX_SIDE = 4096;
+
+    /**
+     * Validates the layout.
+     *
+     * @throws IllegalArgumentException if the charts do not fit into an atlas
+     */
+    AtlasLayout {
+        if (count < 1 || count > capacity(size)) {
+            throw new IllegalArgumentException(
+                    "An atlas must hold from 1 to %d charts of this size."
+                            .formatted(capacity(size))
+            );
+        }
+    }
+
+    /**
+     * Lays out the passed number of charts in rows as wide as possible.
+     *
+     * @param size the size of each chart
+     * @param count the number of charts
+     * @return the layout of the atlas
+     * @throws IllegalArgumentException if the charts do not fit into an atlas
+     */
+    static AtlasLayout of(ChartSize size, int count) {
+        var columns = Math.max(1, Math.min(count, MAX_SIDE / size.pixelWidth()));
+        return new AtlasLayout(size, columns, count);
+    }
+
+    /**
+     * Returns the maximum number of charts of the passed size in an atlas.
+     *
+     * <p>A chart wider or higher than the maximum atlas still fits into an atlas of its own.
+     *
+     * @param size the size of each chart
+     */
+    static int capacity(ChartSize size) {
+        var columns = Math.max(1, MAX_SIDE / size.pixelWidth());
+        var rows = Math.max(1, MAX_SIDE / size.pixelHeight());
+        return columns * rows;
+    }
+
+    /**
+     * Returns the number of rows of the grid.
+     */
+    int rows() {
+        return (count + columns - 1) / columns;
+    }
+
+    /**
+     * Returns the width of the atlas in pixels.
+     */
+    int pixelWidth() {
+        return columns * size.pixelWidth();
+    }
+
+    /**
+     * Returns the height of the atlas in pixels.
+     */
+    int pixelHeight() {
+        return rows() * size.pixelHeight();
+    }
+
+    /**
+     * Returns the horizontal position of the chart cell in pixels.
+     *
+     * @param index the index of the chart
+     */
+    int x(int index) {
+        return index % columns * size.pixelWidth();
+    }
+
+    /**
+     * Returns the vertical position of the chart cell in pixels.
+     *
+     * @param index the index of the chart
+     */
+    int y(int index) {
+        return index / columns * size.pixelHeight();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+/**
+ * The configuration of the batch chart export.
+ *
+ * <p>The values are read from the {@code charts.export.batch} section
+ * of {@code application.yml}.
+ */
+@ConfigurationProperties("charts.export.batch")
+final class BatchExportConfiguration {
+
+    /**
+     * The maximum number of charts in a batch.
+     */
+    private int maxItems = 1000;
+
+    /**
+     * The maximum number of batches exported at the same time.
+     */
+    private int maxConcurrent = 2;
+
+    /**
+     * The maximum number of charts drawn in one browser frame in the bitmap capture mode.
+     */
+    private int atlasCharts = 16;
+
+    /**
+     * Returns the maximum number of charts in a batch.
+     */
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    /**
+     * Sets the maximum number of charts in a batch.
+     */
+    public void setMaxItems(int maxItems) {
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Returns the maximum number of batches exported at the same time.
+     */
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * Sets the maximum number of batches exported at the same time.
+     */
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * Returns the maximum number of charts drawn in one browser frame in the bitmap
+     * capture mode.
+     *
+     * <p>The value of 1 draws each chart separately.
+     */
+    public int getAtlasCharts() {
+        return atlasCharts;
+    }
+
+    /**
+     * Sets the maximum number of charts drawn in one browser frame in the bitmap
+     * capture mode.
+     */
+    public void setAtlasCharts(int atlasCharts) {
+        this.atlasCharts = atlasCharts;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.exceptions.HttpStatusException;
+import io.micronaut.http.server.types.files.StreamedFile;
+
+import java.util.List;
+
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static io.micronaut.http.MediaType.APPLICATION_JSON;
+
+/**
+ * A controller that exports batches of charts to ZIP archives.
+ *
+ * <p>The request body lists the charts to export, as described in {@link BatchRequest}.
+ * The archive is streamed as the charts are rendered by the {@link BatchExporter},
+ * so the client starts receiving it right away.
+ */
+@Controller("/export")
+final class BatchExportController {
+
+    /**
+     * The media type of the ZIP archives.
+     */
+    private static final String APPLICATION_ZIP = "application/zip";
+
+    /**
+     * The name of the archive file suggested to the client.
+     */
+    private static final String ARCHIVE_NAME = "charts.zip";
+
+    /**
+     * The exporter of the batches.
+     */
+    private final BatchExporter exporter;
+
+    /**
+     * The encoders that tell the supported formats.
+     */
+    private final ImageEncoders encoders;
+
+    /**
+     * The maximum number of charts in a batch.
+     */
+    private final int maxItems;
+
+    /**
+     * Whether the clients are identified by the {@code X-Client-Id} header.
+     */
+    private final boolean trustClientId;
+
+    /**
+     * Creates a new controller instance.
+     *
+     * @param exporter the exporter of the batches
+     * @param encoders the encoders that tell the supported formats
+     * @param configuration the configuration of the batch export
+     * @param queueConfiguration the configuration of the queue, which tells how
+     *         the clients are identified
+     */
+    BatchExportController(BatchExporter exporter,
+                          ImageEncoders encoders,
+                          BatchExportConfiguration configuration,
+                          RenderQueueConfiguration queueConfiguration) {
+        this.exporter = exporter;
+        this.encoders = encoders;
+        this.maxItems = configuration.getMaxItems();
+        this.trustClientId = queueConfiguration.isTrustClientId();
+    }
+
+    /**
+     * Exports the listed charts to a ZIP archive.
+     *
+     * @param body the JSON array of the charts to export
+     * @param request the HTTP request, which tells the client of the export
+     * @return the streamed archive
+     */
+    @Post("/batch")
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_ZIP)
+    StreamedFile batch(@Body String body, HttpRequest<?> request) {
+        var keys = parse(body);
+        var renderRequest = RenderRequest.of(request, RequestClass.BATCH, trustClientId);
+        var archive = exporter.export(keys, renderRequest);
+        return new StreamedFile(archive, MediaType.of(APPLICATION_ZIP))
+                .attach(ARCHIVE_NAME);
+    }
+
+    /**
+     * Parses the batch request, rejecting a malformed one as a bad request.
+     */
+    private List<ExportKey> parse(String body) {
+        try {
+            return BatchRequest.parse(body, encoders, maxItems);
+        } catch (IllegalArgumentException e) {
+            throw new HttpStatusException(BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,425 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Exports batches of charts as ZIP archives streamed to the client.
+ *
+ * <p>The charts of a batch are rendered in a two-stage pipeline. While a chart
+ * is encoded on a separate thread, the next one is drawn and captured
+ * in a pooled browser. So, in the bitmap capture mode, the browsers never wait
+ * for the encoding. The charts are drawn via the {@link RenderQueue} as
+ * {@linkplain RequestClass#BATCH batch} requests, one at a time, so a large batch
+ * takes only the capacity the interactive exports leave.
+ *
+ * <p>In the bitmap capture mode, the consecutive charts of the same size are drawn
+ * together, in an {@linkplain AtlasLayout atlas} of up to
+ * {@linkplain BatchExportConfiguration#getAtlasCharts() atlasCharts} charts.
+ * The atlas is captured at once, and its charts are then encoded one by one.
+ *
+ * <p>Each encoded chart is written to the archive as soon as it is ready,
+ * in the requested order. The archive is passed to the client through a pipe
+ * of a fixed size. If the client reads slower than the charts are rendered,
+ * the pipeline stalls, so the memory used by a batch stays bounded
+ * regardless of the batch size.
+ *
+ * <p>The charts are looked up in, and put to, the {@link ExportCache}. If a chart
+ * fails to render, the archive gets a text entry with the failure description
+ * in its place, and the batch goes on.
+ *
+ * <p>Only a few batches are exported at the same time. Extra batches are rejected
+ * with {@link RenderingUnavailableException}.
+ */
+@Singleton
+final class BatchExporter {
+
+    /**
+     * The size of the pipe the archive is passed to the client through.
+     */
+    private static final int PIPE_SIZE = 1024 * 1024;
+
+    /**
+     * The renderer of the exported charts.
+     */
+    private final ChartRenderer renderer;
+
+    /**
+     * The cache of the exported charts.
+     */
+    private final ExportCache cache;
+
+    /**
+     * The queue the charts are drawn through.
+     */
+    private final RenderQueue queue;
+
+    /**
+     * The maximum number of charts drawn in one browser frame.
+     */
+    private final int atlasCharts;
+
+    /**
+     * The permits to export a batch.
+     */
+    private final Semaphore batches;
+
+    /**
+     * The executor drawing the charts and writing the archives, a thread per batch.
+     */
+    private final ExecutorService writers;
+
+    /**
+     * The executor encoding the charts, a thread per batch.
+     */
+    private final ExecutorService encoders;
+
+    /**
+     * Creates a new exporter.
+     *
+     * @param renderer the renderer of the exported charts
+     * @param cache the cache of the exported charts
+     * @param queue the queue the charts are drawn through
+     * @param configuration the configuration of the batch export
+     */
+    BatchExporter(ChartRenderer renderer,
+                  ExportCache cache,
+                  RenderQueue queue,
+                  BatchExportConfiguration configuration) {
+        this.renderer = renderer;
+        this.cache = cache;
+        this.queue = queue;
+        this.atlasCharts = Math.max(1, configuration.getAtlasCharts());
+        var maxConcurrent = configuration.getMaxConcurrent();
+        this.batches = new Semaphore(maxConcurrent);
+        this.writers = Executors.newFixedThreadPool(
+                maxConcurrent, new DaemonThreadFactory("batch-writer")
+        );
+        this.encoders = Executors.newFixedThreadPool(
+                maxConcurrent, new DaemonThreadFactory("batch-encoder")
+        );
+    }
+
+    /**
+     * Starts exporting the charts to a ZIP archive.
+     *
+     * @param keys the keys of the charts to export
+     * @param request the class and the client of the export
+     * @return the stream of the archive
+     * @throws RenderingUnavailableException if too many batches are being exported
+     */
+    InputStream export(List<ExportKey> keys, RenderRequest request) {
+        if (!batches.tryAcquire()) {
+            throw new RenderingUnavailableException(
+                    "Too many batch exports are in progress. Try again later."
+            );
+        }
+        try {
+            var output = new PipedOutputStream();
+            var input = new PipedInputStream(output, PIPE_SIZE);
+            writers.execute(() -> {
+                try {
+                    write(keys, request, output);
+                } finally {
+                    batches.release();
+                }
+            });
+            return input;
+        } catch (IOException e) {
+            batches.release();
+            throw new UncheckedIOException("Unable to start the batch export.", e);
+        }
+    }
+
+    /**
+     * Renders the charts and writes them to the archive.
+     *
+     * <p>The failure of a chart is written to the archive in its place. Should
+     * the batch fail as a whole, the failure is written instead of the remaining
+     * charts, and the archive is completed.
+     */
+    private void write(List<ExportKey> keys, RenderRequest request, OutputStream output) {
+        var buffers = new ImageBuffers();
+        var count = keys.size();
+        try (var zip = new ZipOutputStream(output)) {
+            try {
+                List<CompletableFuture<ExportedChart>> previous = List.of();
+                var written = 0;
+                var next = 0;
+                while (next < count) {
+                    // Draw the next charts while the previous ones are being encoded.
+                    var upcoming = keys.subList(next, Math.min(count, next + atlasCharts));
+                    var tasks = prepare(upcoming, request, buffers);
+                    written = writeEntries(zip, keys, written, previous);
+                    previous = finish(tasks);
+                    next += tasks.size();
+                }
+                writeEntries(zip, keys, written, previous);
+            } catch (RuntimeException e) {
+                writeError(zip, "batch", "Unable to export the batch: %s%n".formatted(e));
+            }
+        } catch (IOException e) {
+            // The client has stopped reading the archive, so the batch is abandoned.
+        }
+    }
+
+    /**
+     * Draws the leading charts of the passed ones, unless they are cached,
+     * and returns the tasks that finish their export.
+     *
+     * <p>In the bitmap capture mode, the charts of the same size are drawn together
+     * in an {@linkplain ChartRenderer#captureAtlas atlas}, and the tasks encode
+     * the captured images. In the canvas capture mode, a single chart is drawn,
+     * and it is already encoded by the browser.
+     */
+    private List<Supplier<ExportedChart>> prepare(List<ExportKey> keys,
+                                                  RenderRequest request,
+                                                  ImageBuffers buffers) {
+        if (renderer.captureMode() == CaptureMode.CANVAS) {
+            var key = keys.get(0);
+            return List.of(cached(key).orElseGet(() -> render(key, request)));
+        }
+        var size = keys.get(0)
+                       .size();
+        var capacity = Math.min(keys.size(), AtlasLayout.capacity(size));
+        var tasks = new ArrayList<Supplier<ExportedChart>>(capacity);
+        var drawn = new ArrayList<ExportKey>(capacity);
+        for (var key : keys) {
+            if (tasks.size() == capacity || !key.size()
+                                                .equals(size)) {
+                break;
+            }
+            var cached = cached(key);
+            // The place of a chart to draw is taken by its task once the atlas is captured.
+            tasks.add(cached.orElse(null));
+            if (cached.isEmpty()) {
+                drawn.add(key);
+            }
+        }
+        if (!drawn.isEmpty()) {
+            var encodings = capture(drawn, request, buffers).iterator();
+            tasks.replaceAll(task -> task != null ? task : encodings.next());
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the task that returns the cached chart, if it is cached.
+     *
+     * <p>If the cache fails to read the chart, the task fails.
+     */
+    private Optional<Supplier<ExportedChart>> cached(ExportKey key) {
+        try {
+            return cache.get(key)
+                        .join()
+                        .map(chart -> () -> chart);
+        } catch (RuntimeException e) {
+            return Optional.of(failure(e));
+        }
+    }
+
+    /**
+     * Renders the chart in the canvas capture mode, and returns the task
+     * that returns it.
+     */
+    private Supplier<ExportedChart> render(ExportKey key, RenderRequest request) {
+        try {
+            var chart = queue.call(request, () -> renderer.render(key));
+            cache.put(key, chart);
+            return () -> chart;
+        } catch (IOException | RuntimeException e) {
+            return failure(e);
+        }
+    }
+
+    /**
+     * Captures the images of the charts, and returns the tasks that encode them.
+     */
+    private List<Supplier<ExportedChart>> capture(List<ExportKey> keys,
+                                                  RenderRequest request,
+                                                  ImageBuffers buffers) {
+        List<BgraImage> images;
+        try {
+            images = queue.call(request, () -> renderer.captureAtlas(keys));
+        } catch (IOException | RuntimeException e) {
+            var failure = failure(e);
+            return Collections.nCopies(keys.size(), failure);
+        }
+        var tasks = new ArrayList<Supplier<ExportedChart>>(keys.size());
+        for (var i = 0; i < keys.size(); i++) {
+            var key = keys.get(i);
+            var index = i;
+            tasks.add(() -> {
+                try {
+                    var chart = renderer.encode(key, images.get(index), buffers);
+                    cache.put(key, chart);
+                    return chart;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the task that fails with the passed exception.
+     */
+    private static Supplier<ExportedChart> failure(Exception e) {
+        return () -> {
+            throw new CompletionException(e);
+        };
+    }
+
+    /**
+     * Runs the tasks one after another on the encoding thread.
+     *
+     * <p>The tasks share the buffers of the batch, so they never run concurrently.
+     * A failed task fails its chart, even with an {@link Error}, so that the writer
+     * never waits for it forever.
+     */
+    private List<CompletableFuture<ExportedChart>> finish(List<Supplier<ExportedChart>> tasks) {
+        var charts = new ArrayList<CompletableFuture<ExportedChart>>(tasks.size());
+        for (var i = 0; i < tasks.size(); i++) {
+            charts.add(new CompletableFuture<>());
+        }
+        encoders.execute(() -> {
+            for (var i = 0; i < tasks.size(); i++) {
+                try {
+                    charts.get(i)
+                          .complete(tasks.get(i)
+                                         .get());
+                } catch (Throwable e) {
+                    charts.get(i)
+                          .completeExceptionally(e);
+                }
+            }
+        });
+        return charts;
+    }
+
+    /**
+     * Writes the exported charts to the archive, in order.
+     *
+     * @return the number of the charts written so far
+     */
+    private static int writeEntries(ZipOutputStream zip,
+                                    List<ExportKey> keys,
+                                    int written,
+                                    List<CompletableFuture<ExportedChart>> charts)
+            throws IOException {
+        var count = keys.size();
+        var index = written;
+        for (var chart : charts) {
+            writeEntry(zip, entryName(index, count, keys.get(index)), chart);
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the name of the archive entry without the extension, which is
+     * the zero-padded position of the chart in the batch followed by the dataset ID.
+     */
+    private static String entryName(int index, int count, ExportKey key) {
+        var digits = Integer.toString(count)
+                            .length();
+        return ("%0" + digits + "d-%s").formatted(index + 1, key.dataset()
+                                                                .id());
+    }
+
+    /**
+     * Writes the exported chart to the archive, or the description of its failure.
+     */
+    private static void writeEntry(ZipOutputStream zip,
+                                   String name,
+                                   CompletableFuture<ExportedChart> chart)
+            throws IOException {
+        ExportedChart exported;
+        try {
+            exported = chart.join();
+        } catch (RuntimeException e) {
+            var cause = e instanceof CompletionException && e.getCause() != null
+                        ? e.getCause()
+                        : e;
+            writeError(zip, name, "Unable to export the chart: %s%n".formatted(cause.getMessage()));
+            return;
+        }
+        var bytes = exported.bytes();
+        // The images are compressed already, so they are stored as is.
+        var entry = new ZipEntry(name + '.' + exported.format()
+                                                      .extension());
+        var crc = new CRC32();
+        crc.update(bytes);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(bytes.length);
+        entry.setCompressedSize(bytes.length);
+        entry.setCrc(crc.getValue());
+        zip.putNextEntry(entry);
+        zip.write(bytes);
+        zip.closeEntry();
+    }
+
+    /**
+     * Writes the description of a failure to the archive, as a text entry.
+     */
+    private static void writeError(ZipOutputStream zip, String name, String message)
+            throws IOException {
+        zip.putNextEntry(new ZipEntry(name + ".error.txt"));
+        zip.write(message.getBytes(UTF_8));
+        zip.closeEntry();
+    }
+
+    /**
+     * Stops the executors of the batch export.
+     */
+    @PreDestroy
+    void close() {
+        writers.shutdownNow();
+        encoders.shutdownNow();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A parser of the batch export requests.
+ *
+ * <p>A request is a JSON array of the charts to export, each described as follows:
+ * <pre>{@code
+ * {
+ *     "dataset": "per-capita-energy-use",
+ *     "params": {"entity": "France"},
+ *     "format": "png",
+ *     "width": 1000,
+ *     "height": 500,
+ *     "scale": 1
+ * }
+ * }</pre>
+ *
+ * <p>Only the {@code dataset} is required. The chart parameters default to
+ * the ones of the chart-drawing function, the format defaults to PNG, and
+ * the size defaults to {@link ChartSize#DEFAULT}.
+ */
+final class BatchRequest {
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private BatchRequest() {
+    }
+
+    /**
+     * Parses the batch export request.
+     *
+     * @param body the request body
+     * @param encoders the encoders that tell the supported formats
+     * @param maxItems the maximum number of charts in the batch
+     * @return the keys of the charts to export, in the requested order
+     * @throws IllegalArgumentException if the request is malformed, too large,
+     *         or requests an unknown dataset or an unsupported format
+     */
+    static List<ExportKey> parse(String body, ImageEncoders encoders, int maxItems) {
+        JsonElement parsed;
+        try {
+            parsed = JsonParser.parseString(body);
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Malformed batch export request.", e);
+        }
+        if (!parsed.isJsonArray()) {
+            throw new IllegalArgumentException("The batch export request must be a JSON array.");
+        }
+        var items = parsed.getAsJsonArray();
+        if (items.isEmpty() || items.size() > maxItems) {
+            throw new IllegalArgumentException(
+                    "The batch must contain from 1 to %d charts.".formatted(maxItems)
+            );
+        }
+        var keys = new ArrayList<ExportKey>(items.size());
+        for (var i = 0; i < items.size(); i++) {
+            var item = items.get(i);
+            if (!item.isJsonObject()) {
+                throw new IllegalArgumentException(
+                        "The batch item #%d must be a JSON object.".formatted(i)
+                );
+            }
+            try {
+                keys.add(parseItem(item.getAsJsonObject(), encoders));
+            } catch (IllegalArgumentException
+                     | IllegalStateException
+                     | UnsupportedOperationException e) {
+                throw new IllegalArgumentException(
+                        "Invalid batch item #%d: %s".formatted(i, e.getMessage()), e
+                );
+            }
+        }
+        return keys;
+    }
+
+    private static ExportKey parseItem(JsonObject item, ImageEncoders encoders) {
+        if (!item.has("dataset")) {
+            throw new IllegalArgumentException("The `dataset` is missing.");
+        }
+        var dataset = Dataset.byId(item.get("dataset")
+                                       .getAsString());
+        var params = item.has("params") ? paramsOf(item.get("params")) : "{}";
+        var formatName = item.has("format") ? item.get("format")
+                                                  .getAsString() : null;
+        var format = encoders.negotiate(formatName, null)
+                             .orElseThrow(() -> new IllegalArgumentException(
+                                     "The `%s` format is not supported.".formatted(formatName)
+                             ));
+        var size = ChartSize.of(
+                item.has("width") ? item.get("width")
+                                        .getAsInt() : null,
+                item.has("height") ? item.get("height")
+                                         .getAsInt() : null,
+                item.has("scale") ? item.get("scale")
+                                        .getAsDouble() : null,
+                ChartSize.DEFAULT
+        );
+        return new ExportKey(dataset, ChartParams.canonicalize(params), format, size);
+    }
+
+    /**
+     * Returns the chart parameters passed either as a JSON object,
+     * or as a string holding one.
+     */
+    private static String paramsOf(JsonElement params) {
+        if (params.isJsonPrimitive() && params.getAsJsonPrimitive()
+                                              .isString()) {
+            return params.getAsString();
+        }
+        return params.toString();
+    }
+}
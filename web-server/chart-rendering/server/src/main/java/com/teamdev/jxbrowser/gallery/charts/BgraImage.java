@@ -0,0 +1,111 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import com.teamdev.jxbrowser.ui.Bitmap;
+
+/**
+ * A chart image rendered by a browser, as the pixels of its {@link Bitmap}.
+ *
+ * <p>The pixels are four bytes each, in the BGRA order, with the color components
+ * premultiplied by alpha. The image may be a region of a larger bitmap, so its
+ * rows start at {@code offset} and are {@code stride} bytes apart in the array.
+ * The encoders read the pixels directly, without building a {@code BufferedImage}.
+ *
+ * @param width the width of the image in pixels
+ * @param height the height of the image in pixels
+ * @param pixels the premultiplied BGRA pixels
+ * @param offset the index of the first byte of the image in the array
+ * @param stride the distance between the starts of the rows in bytes
+ */
+record BgraImage(int width, int height, byte[] pixels, int offset, int stride) {
+
+    /**
+     * The number of bytes per pixel.
+     */
+    static final int BYTES_PER_PIXEL = 4;
+
+    /**
+     * Creates an image backed by the pixels of the passed bitmap, without copying them.
+     *
+     * @param bitmap the bitmap of the browser
+     * @return the new image
+     */
+    static BgraImage of(Bitmap bitmap) {
+        var size = bitmap.size();
+        var width = size.width();
+        return new BgraImage(
+                width, size.height(), bitmap.pixels(), 0, width * BYTES_PER_PIXEL
+        );
+    }
+
+    /**
+     * Returns the top-left region of this image, backed by the same pixels.
+     *
+     * @param width the width of the region
+     * @param height the height of the region
+     * @return the region of this image
+     * @throws IllegalStateException if this image is smaller than the region
+     */
+    BgraImage crop(int width, int height) {
+        return region(0, 0, width, height);
+    }
+
+    /**
+     * Returns a region of this image, backed by the same pixels.
+     *
+     * @param x the horizontal position of the region
+     * @param y the vertical position of the region
+     * @param width the width of the region
+     * @param height the height of the region
+     * @return the region of this image
+     * @throws IllegalStateException if the region does not fit into this image
+     */
+    BgraImage region(int x, int y, int width, int height) {
+        if (x + width > this.width || y + height > this.height) {
+            throw new IllegalStateException(
+                    "The rendered image of %dx%d pixels has no %dx%d region at %d,%d."
+                            .formatted(this.width, this.height, width, height, x, y)
+            );
+        }
+        return new BgraImage(
+                width, height, pixels, rowOffset(y) + x * BYTES_PER_PIXEL, stride
+        );
+    }
+
+    /**
+     * Returns the number of bytes in a row of pixels.
+     */
+    int rowLength() {
+        return width * BYTES_PER_PIXEL;
+    }
+
+    /**
+     * Returns the index of the first byte of the row in the array.
+     *
+     * @param y the index of the row
+     */
+    int rowOffset(int y) {
+        return offset + y * stride;
+    }
+}
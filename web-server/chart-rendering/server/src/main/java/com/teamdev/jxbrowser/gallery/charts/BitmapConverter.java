@@ -22,44 +22,150 @@
 
 package com.teamdev.jxbrowser.gallery.charts;
 
-import com.teamdev.jxbrowser.ui.Bitmap;
-
+import java.awt.Transparency;
 import java.awt.color.ColorSpace;
 import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
 import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
 import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.util.ArrayList;
+import java.util.List;
 
 import static java.awt.image.Raster.createInterleavedRaster;
+import static java.awt.image.Raster.createPackedRaster;
 
 /**
- * A converter of {@link Bitmap} instances into {@link BufferedImage}.
+ * A converter of the {@linkplain BgraImage rendered images} into {@link BufferedImage}
+ * for the encoders that need one, and into the images of the charts drawn in
+ * an {@linkplain AtlasLayout atlas}.
  *
  * <p>Performs relatively complex image conversion "by hand". Alternatively, you
  * may add the "JxBrowser JavaFX"/"JxBrowser Swing"/"JxBrowser SWT" dependency
  * to the project and use the {@code BitmapImage.toToolkitImage()} method.
  * The resulting image will belong to the corresponding UI toolkit.
+ *
+ * <p>The color models are created once, and the pixels are never copied
+ * into a new full-size array.
  */
 final class BitmapConverter {
 
     /**
-     * Converts the specified {@code bitmap} into a {@link BufferedImage} instance.
+     * The color model of the premultiplied BGRA pixels.
+     */
+    private static final ColorModel BGRA_MODEL = new ComponentColorModel(
+            ColorSpace.getInstance(ColorSpace.CS_sRGB),
+            new int[]{8, 8, 8, 8},
+            true,
+            true,
+            Transparency.TRANSLUCENT,
+            DataBuffer.TYPE_BYTE
+    );
+
+    /**
+     * The offsets of the red, green, blue, and alpha bands in a BGRA pixel.
+     */
+    private static final int[] BGRA_BAND_OFFSETS = {2, 1, 0, 3};
+
+    /**
+     * The masks of the red, green, and blue components in an RGB pixel.
+     */
+    private static final int[] RGB_MASKS = {0xFF0000, 0xFF00, 0xFF};
+
+    /**
+     * The color model of the opaque RGB pixels.
+     */
+    private static final ColorModel RGB_MODEL =
+            new DirectColorModel(24, RGB_MASKS[0], RGB_MASKS[1], RGB_MASKS[2]);
+
+    /**
+     * The name of the pooled array of the opaque pixels.
+     */
+    private static final String OPAQUE_PIXELS = "opaque-pixels";
+
+    /**
+     * Prevents the instantiation of this utility class.
+     */
+    private BitmapConverter() {
+    }
+
+    /**
+     * Converts the specified image into a {@link BufferedImage} instance.
      *
-     * @param bitmap the {@link Bitmap} to convert
+     * <p>The returned image is backed by the pixels of the passed one.
+     *
+     * @param image the image to convert
      * @return the {@link BufferedImage} instance
      */
-    BufferedImage toBufferedImage(Bitmap bitmap) {
-        var size = bitmap.size();
-        var width = size.width();
-        var height = size.height();
+    static BufferedImage toBufferedImage(BgraImage image) {
+        var pixels = image.pixels();
         var raster = createInterleavedRaster(
-                0, width, height, width * 4, 4, new int[]{2, 1, 0, 3}, null
+                new DataBufferByte(pixels, pixels.length - image.offset(), image.offset()),
+                image.width(),
+                image.height(),
+                image.stride(),
+                BgraImage.BYTES_PER_PIXEL,
+                BGRA_BAND_OFFSETS,
+                null
         );
-        var colorModel = new ComponentColorModel(
-                ColorSpace.getInstance(1000), new int[]{8, 8, 8, 8}, true, true, 3, 0
+        return new BufferedImage(BGRA_MODEL, raster, true, null);
+    }
+
+    /**
+     * Converts the specified image into an opaque {@link BufferedImage} instance,
+     * as if it was drawn over the white background.
+     *
+     * <p>The returned image is backed by a pooled array, so it is only valid
+     * until the passed buffers are used again.
+     *
+     * @param image the image to convert
+     * @param buffers the buffers to take the array of the opaque pixels from
+     * @return the {@link BufferedImage} instance
+     */
+    static BufferedImage toOpaqueImage(BgraImage image, ImageBuffers buffers) {
+        var width = image.width();
+        var height = image.height();
+        var pixels = image.pixels();
+        var opaque = buffers.ints(OPAQUE_PIXELS, width * height);
+        for (var y = 0; y < height; y++) {
+            var p = image.rowOffset(y);
+            var rowEnd = (y + 1) * width;
+            for (var i = y * width; i < rowEnd; i++, p += BgraImage.BYTES_PER_PIXEL) {
+                // Blending premultiplied components over white only adds the missing alpha.
+                var transparency = 0xFF - (pixels[p + 3] & 0xFF);
+                var blue = Math.min(0xFF, (pixels[p] & 0xFF) + transparency);
+                var green = Math.min(0xFF, (pixels[p + 1] & 0xFF) + transparency);
+                var red = Math.min(0xFF, (pixels[p + 2] & 0xFF) + transparency);
+                opaque[i] = red << 16 | green << 8 | blue;
+            }
+        }
+        var raster = createPackedRaster(
+                new DataBufferInt(opaque, opaque.length), width, height, width, RGB_MASKS, null
         );
-        var dataBuffer = (DataBufferByte) raster.getDataBuffer();
-        var pixels = bitmap.pixels();
-        System.arraycopy(pixels, 0, dataBuffer.getData(), 0, pixels.length);
-        return new BufferedImage(colorModel, raster, true, null);
+        return new BufferedImage(RGB_MODEL, raster, false, null);
+    }
+
+    /**
+     * Slices the image of an atlas into the images of its charts.
+     *
+     * <p>The returned images are backed by the pixels of the atlas.
+     *
+     * @param atlas the image of the atlas
+     * @param layout the layout of the atlas
+     * @return the images of the charts in the order of the atlas cells
+     * @throws IllegalStateException if the image is smaller than the atlas
+     */
+    static List<BgraImage> slice(BgraImage atlas, AtlasLayout layout) {
+        var size = layout.size();
+        var count = layout.count();
+        var images = new ArrayList<BgraImage>(count);
+        for (var i = 0; i < count; i++) {
+            images.add(atlas.region(
+                    layout.x(i), layout.y(i), size.pixelWidth(), size.pixelHeight()
+            ));
+        }
+        return images;
     }
 }
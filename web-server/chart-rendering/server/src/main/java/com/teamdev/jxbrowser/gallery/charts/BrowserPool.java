@@ -0,0 +1,399 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import com.teamdev.jxbrowser.browser.Browser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A bounded pool of pre-warmed {@link Browser} instances used for server-side
+ * rendering of the charts.
+ *
+ * <p>Each browser renders one chart at a time, so the number of charts rendered
+ * concurrently is limited by the pool {@linkplain BrowserPoolConfiguration#getSize()
+ * size}. A browser is checked out via {@link #acquire()} and returned to the pool
+ * by closing the obtained {@link PooledBrowser}.
+ *
+ * <p>The browsers are spread evenly over {@linkplain BrowserPoolConfiguration#getEngines()
+ * several} engines, so that they do not share a single Chromium rendering pipeline.
+ * A browser is checked out of the {@linkplain EngineShard engine} that has the smallest
+ * share of its browsers busy.
+ *
+ * <p>A chart is preferably rendered in a browser that is {@linkplain Warmth warm} for it,
+ * i.e., holds its dataset parsed, or has last drawn a chart of the same dataset and size.
+ * The warm browser is looked for among the idle ones, so a chart never waits for a busy
+ * warm browser while a cold one is idle: the cold one takes the chart over. It does
+ * the same when the engine of the warm browser is {@linkplain
+ * BrowserPoolConfiguration#getAffinityImbalance() much busier} than the least loaded
+ * one, so that the affinity does not pile the charts up on a few engines.
+ *
+ * <p>A watchdog closes the browsers that stay checked out past the {@linkplain
+ * BrowserPoolConfiguration#getRenderDeadline() render deadline}, so that a hung
+ * renderer does not hold a browser forever. The closed browsers, along with
+ * the ones that crashed or grew too old, are replaced as they are returned. If a new
+ * browser cannot be created, the creation is retried later.
+ */
+@Singleton
+final class BrowserPool {
+
+    /**
+     * How often the watchdog checks the render deadline.
+     */
+    private static final Duration WATCHDOG_PERIOD = Duration.ofSeconds(1);
+
+    /**
+     * How long to wait before creating a browser again, if the previous attempt failed.
+     */
+    private static final Duration REPLACEMENT_RETRY_DELAY = Duration.ofSeconds(5);
+
+    /**
+     * The first pause between the attempts to take an idle browser under a permit.
+     */
+    private static final Duration MIN_POLL_BACK_OFF = Duration.ofNanos(1_000);
+
+    /**
+     * The longest pause between the attempts to take an idle browser under a permit.
+     */
+    private static final Duration MAX_POLL_BACK_OFF = Duration.ofMillis(1);
+
+    /**
+     * The engines that own the browsers of the pool.
+     */
+    private final List<EngineShard> engines;
+
+    /**
+     * The permits for the browsers that are not checked out at the moment.
+     */
+    private final Semaphore available;
+
+    /**
+     * The maximum time to wait for a browser to become available.
+     */
+    private final Duration acquireTimeout;
+
+    /**
+     * The largest difference in the load between an engine and the least loaded one,
+     * up to which a browser of the engine is taken for the chart it is warm for.
+     */
+    private final double affinityImbalance;
+
+    /**
+     * The counters of the charts rendered in the browsers of each warmth.
+     */
+    private final Map<Warmth, Counter> renders = new EnumMap<>(Warmth.class);
+
+    /**
+     * The counter of the charts rendered in a browser colder than the warmest one
+     * of the pool, which was busy or on a busier engine.
+     */
+    private final Counter stolen;
+
+    /**
+     * The executor that checks the render deadline of the checked-out browsers.
+     */
+    private final ScheduledExecutorService watchdog =
+            Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("browser-watchdog"));
+
+    /**
+     * The executor that retries creating the browsers that failed to be replaced.
+     */
+    private final ScheduledExecutorService replacer =
+            Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("browser-replacer"));
+
+    /**
+     * Creates a new pool and pre-warms all of its browsers.
+     *
+     * @param configuration the configuration of the pool
+     * @param registry the registry of the application metrics
+     */
+    BrowserPool(BrowserPoolConfiguration configuration, MeterRegistry registry) {
+        this.acquireTimeout = configuration.getAcquireTimeout();
+        this.affinityImbalance = configuration.getAffinityImbalance();
+        var size = configuration.getSize();
+        var engineCount = Math.max(1, Math.min(configuration.getEngines(), size));
+        this.engines = new ArrayList<>(engineCount);
+        var firstBrowser = 0;
+        for (var i = 0; i < engineCount; i++) {
+            var browsers = size / engineCount + (i < size % engineCount ? 1 : 0);
+            engines.add(new EngineShard(
+                    this, configuration, i, firstBrowser, browsers, registry
+            ));
+            firstBrowser += browsers;
+        }
+        this.available = new Semaphore(size);
+        var deadline = configuration.getRenderDeadline()
+                                    .toNanos();
+        watchdog.scheduleWithFixedDelay(
+                () -> engines.forEach(engine -> engine.terminateOverdue(deadline)),
+                WATCHDOG_PERIOD.toMillis(), WATCHDOG_PERIOD.toMillis(), MILLISECONDS
+        );
+        for (var warmth : Warmth.values()) {
+            renders.put(warmth, registry.counter(
+                    "charts.rendering.affinity.renders", "warmth", warmth.id()
+            ));
+        }
+        this.stolen = registry.counter("charts.rendering.affinity.stolen");
+        Gauge.builder("charts.rendering.affinity.warm.ratio", this, BrowserPool::warmRatio)
+             .register(registry);
+    }
+
+    /**
+     * Checks out a browser from the pool, waiting for one to become available
+     * if necessary.
+     *
+     * @return the checked-out browser, which must be closed to return it to the pool
+     * @throws RenderingUnavailableException if no browser becomes available within
+     *         the configured timeout
+     */
+    PooledBrowser acquire() {
+        var deadline = acquireDeadline();
+        awaitAvailable(deadline);
+        return pollLeastLoaded(deadline).checkOut();
+    }
+
+    /**
+     * Checks out a browser from the pool for rendering a chart, preferring
+     * the one that is the warmest for the chart.
+     *
+     * @param dataset the dataset of the chart
+     * @param size the size of the chart
+     * @return the checked-out browser, which must be closed to return it to the pool
+     * @throws RenderingUnavailableException if no browser becomes available within
+     *         the configured timeout
+     */
+    PooledBrowser acquire(Dataset dataset, ChartSize size) {
+        var deadline = acquireDeadline();
+        awaitAvailable(deadline);
+        var browser = pollWarmest(dataset, size, deadline);
+        var warmth = browser.page()
+                            .warmth(dataset, size);
+        renders.get(warmth)
+               .increment();
+        var warmest = engines.stream()
+                             .map(engine -> engine.warmest(dataset, size))
+                             .max(Warmth::compareTo)
+                             .orElse(Warmth.COLD);
+        if (warmest.compareTo(warmth) > 0) {
+            stolen.increment();
+        }
+        return browser.checkOut();
+    }
+
+    /**
+     * Waits for a browser to become available until the passed deadline,
+     * and takes its permit.
+     *
+     * @param deadline the time to give up waiting at, as of {@link System#nanoTime()}
+     */
+    private void awaitAvailable(long deadline) {
+        try {
+            if (!available.tryAcquire(deadline - System.nanoTime(), NANOSECONDS)) {
+                throw new RenderingUnavailableException(
+                        "No browser became available within %s.".formatted(acquireTimeout)
+                );
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new RenderingUnavailableException("Interrupted while waiting for a browser.", e);
+        }
+    }
+
+    /**
+     * Takes the idle browser that is the warmest for the passed chart, among
+     * the engines that are not much busier than the least loaded one.
+     *
+     * <p>Of the equally warm browsers, the one of the less loaded engine is taken.
+     * If there is no warm idle browser, a browser of the least loaded engine is taken.
+     *
+     * @param deadline the time to give up waiting for an idle browser at,
+     *         as of {@link System#nanoTime()}
+     */
+    private PooledBrowser pollWarmest(Dataset dataset, ChartSize size, long deadline) {
+        while (true) {
+            var maxLoad = minIdleLoad() + affinityImbalance;
+            PooledBrowser warmest = null;
+            var warmestWarmth = Warmth.COLD;
+            var warmestLoad = Double.MAX_VALUE;
+            for (var engine : engines) {
+                var load = engine.load();
+                var browser = load <= maxLoad ? engine.warmestIdle(dataset, size) : null;
+                if (browser == null) {
+                    continue;
+                }
+                var warmth = browser.page()
+                                    .warmth(dataset, size);
+                var order = warmth.compareTo(warmestWarmth);
+                if (order > 0 || order == 0 && load < warmestLoad) {
+                    warmest = browser;
+                    warmestWarmth = warmth;
+                    warmestLoad = load;
+                }
+            }
+            if (warmest == null) {
+                return pollLeastLoaded(deadline);
+            }
+            if (warmest.engine()
+                       .poll(warmest)) {
+                return warmest;
+            }
+        }
+    }
+
+    /**
+     * Returns the load of the least loaded engine that has an idle browser.
+     */
+    private double minIdleLoad() {
+        var minLoad = Double.MAX_VALUE;
+        for (var engine : engines) {
+            if (engine.hasIdle()) {
+                minLoad = Math.min(minLoad, engine.load());
+            }
+        }
+        return minLoad;
+    }
+
+    /**
+     * Takes an idle browser of the least loaded engine.
+     *
+     * <p>The caller holds a permit, so there is an idle browser for it, or there
+     * will be once a recycled browser is replaced. Though, another caller may take
+     * it first from the chosen engine, in which case the choice is made again.
+     * Between the attempts, the thread is parked for an exponentially growing
+     * pause. If no browser is taken by the deadline, the permit is given back.
+     *
+     * @param deadline the time to give up waiting for an idle browser at,
+     *         as of {@link System#nanoTime()}
+     * @throws RenderingUnavailableException if no browser is taken by the deadline
+     */
+    private PooledBrowser pollLeastLoaded(long deadline) {
+        var backOff = MIN_POLL_BACK_OFF.toNanos();
+        while (true) {
+            EngineShard leastLoaded = null;
+            var minLoad = Double.MAX_VALUE;
+            for (var engine : engines) {
+                var load = engine.load();
+                if (load < minLoad && engine.hasIdle()) {
+                    leastLoaded = engine;
+                    minLoad = load;
+                }
+            }
+            if (leastLoaded != null) {
+                var browser = leastLoaded.poll();
+                if (browser != null) {
+                    return browser;
+                }
+            }
+            if (System.nanoTime() - deadline > 0) {
+                available.release();
+                throw new RenderingUnavailableException(
+                        "No browser became available within %s.".formatted(acquireTimeout)
+                );
+            }
+            LockSupport.parkNanos(backOff);
+            backOff = Math.min(backOff * 2, MAX_POLL_BACK_OFF.toNanos());
+        }
+    }
+
+    /**
+     * Returns the time to give up checking out a browser at, as of
+     * {@link System#nanoTime()}, which bounds both waiting for a permit
+     * and taking an idle browser under it.
+     */
+    private long acquireDeadline() {
+        return System.nanoTime() + acquireTimeout.toNanos();
+    }
+
+    /**
+     * Returns the share of the charts rendered in a warm browser, from 0 to 1.
+     */
+    private double warmRatio() {
+        var total = 0.0;
+        var warm = 0.0;
+        for (var entry : renders.entrySet()) {
+            var count = entry.getValue()
+                             .count();
+            total += count;
+            if (entry.getKey()
+                     .isWarm()) {
+                warm += count;
+            }
+        }
+        return total == 0 ? 0 : warm / total;
+    }
+
+    /**
+     * Returns the passed browser to the pool.
+     *
+     * <p>The permit of the browser is released even if the browser is recycled and
+     * its replacement is still to be created, so that the pool never shrinks. The
+     * caller that takes the permit then waits for the replacement.
+     */
+    void release(PooledBrowser browser) {
+        try {
+            browser.engine()
+                   .release(browser, browser.busyTime());
+        } finally {
+            available.release();
+        }
+    }
+
+    /**
+     * Runs the passed task on the replacer thread after a delay,
+     * unless the pool is closed.
+     *
+     * @param task the task that creates a browser again
+     */
+    void retryLater(Runnable task) {
+        if (!replacer.isShutdown()) {
+            replacer.schedule(task, REPLACEMENT_RETRY_DELAY.toMillis(), MILLISECONDS);
+        }
+    }
+
+    /**
+     * Closes the engines along with all the browsers of the pool.
+     */
+    @PreDestroy
+    void close() {
+        watchdog.shutdownNow();
+        replacer.shutdownNow();
+        engines.forEach(EngineShard::close);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.convert.format.ReadableBytes;
+
+import java.time.Duration;
+
+/**
+ * The configuration of the {@link BrowserPool}.
+ *
+ * <p>The values are read from the {@code charts.rendering.pool} section
+ * of {@code application.yml}.
+ */
+@ConfigurationProperties("charts.rendering.pool")
+final class BrowserPoolConfiguration {
+
+    /**
+     * The number of browsers in the pool.
+     *
+     * <p>Defaults to the number of available processors, as each browser
+     * renders one chart at a time.
+     */
+    private int size = Runtime.getRuntime()
+                              .availableProcessors();
+
+    /**
+     * The number of engines the browsers are spread over.
+     *
+     * <p>Defaults to the number of available processors. There are never more
+     * engines than browsers.
+     */
+    private int engines = Runtime.getRuntime()
+                                 .availableProcessors();
+
+    /**
+     * The maximum time to wait for a browser to become available.
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(30);
+
+    /**
+     * The maximum time a browser may stay checked out before it is closed
+     * and replaced.
+     *
+     * <p>Unlike the {@linkplain ExportConfiguration#getRenderTimeout() render timeout},
+     * which bounds the waits for the page, this deadline bounds the whole rendering,
+     * including the calls into the browser that may hang along with its renderer.
+     */
+    private Duration renderDeadline = Duration.ofMinutes(1);
+
+    /**
+     * The number of renders after which a browser is replaced.
+     */
+    private int maxRenders = 1000;
+
+    /**
+     * The size of the JavaScript heap of a browser page, in bytes, after which
+     * the browser is replaced.
+     */
+    private long maxHeapSize = 256L * 1024 * 1024;
+
+    /**
+     * The largest difference in the share of busy browsers between an engine and
+     * the least loaded one, up to which a chart is rendered in a browser of the engine
+     * that is warm for it.
+     *
+     * <p>Past it, the chart goes to a browser of the least loaded engine, even a cold one.
+     */
+    private double affinityImbalance = 0.25;
+
+    /**
+     * Returns the number of browsers in the pool.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Sets the number of browsers in the pool.
+     */
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of engines the browsers are spread over.
+     */
+    public int getEngines() {
+        return engines;
+    }
+
+    /**
+     * Sets the number of engines the browsers are spread over.
+     */
+    public void setEngines(int engines) {
+        this.engines = engines;
+    }
+
+    /**
+     * Returns the maximum time to wait for a browser to become available.
+     */
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    /**
+     * Sets the maximum time to wait for a browser to become available.
+     */
+    public void setAcquireTimeout(Duration acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    /**
+     * Returns the maximum time a browser may stay checked out before it is closed
+     * and replaced.
+     */
+    public Duration getRenderDeadline() {
+        return renderDeadline;
+    }
+
+    /**
+     * Sets the maximum time a browser may stay checked out before it is closed
+     * and replaced.
+     */
+    public void setRenderDeadline(Duration renderDeadline) {
+        this.renderDeadline = renderDeadline;
+    }
+
+    /**
+     * Returns the number of renders after which a browser is replaced.
+     */
+    public int getMaxRenders() {
+        return maxRenders;
+    }
+
+    /**
+     * Sets the number of renders after which a browser is replaced.
+     */
+    public void setMaxRenders(int maxRenders) {
+        this.maxRenders = maxRenders;
+    }
+
+    /**
+     * Returns the size of the JavaScript heap of a browser page after which
+     * the browser is replaced.
+     */
+    public long getMaxHeapSize() {
+        return maxHeapSize;
+    }
+
+    /**
+     * Sets the size of the JavaScript heap of a browser page after which
+     * the browser is replaced.
+     */
+    public void setMaxHeapSize(@ReadableBytes long maxHeapSize) {
+        this.maxHeapSize = maxHeapSize;
+    }
+
+    /**
+     * Returns the largest difference in the share of busy browsers between engines,
+     * up to which a chart is rendered in a browser warm for it.
+     */
+    public double getAffinityImbalance() {
+        return affinityImbalance;
+    }
+
+    /**
+     * Sets the largest difference in the share of busy browsers between engines,
+     * up to which a chart is rendered in a browser warm for it.
+     */
+    public void setAffinityImbalance(double affinityImbalance) {
+        this.affinityImbalance = affinityImbalance;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import com.teamdev.jxbrowser.js.JsAccessible;
+import com.teamdev.jxbrowser.js.JsArrayBuffer;
+
+/**
+ * Receives the images of the chart canvases encoded by the JavaScript code
+ * of the {@link ChartPage}.
+ *
+ * <p>The page encodes a canvas asynchronously and calls back either
+ * {@link #complete} or {@link #fail}, passing the ID of the capture
+ * it was asked to do.
+ *
+ * @implNote The class and its callback methods are {@code public}, as JavaScript
+ * can only access the public members of public Java classes.
+ */
+public final class CanvasCaptureBridge {
+
+    /**
+     * The name of the JavaScript {@code window} property holding this object.
+     */
+    static final String PROPERTY_NAME = "javaCanvasCapture";
+
+    /**
+     * The encoded image of the last started capture.
+     */
+    private final PageCallback<byte[]> image = new PageCallback<>("encode the chart canvas");
+
+    /**
+     * Returns the encoded image of the last started capture.
+     */
+    PageCallback<byte[]> image() {
+        return image;
+    }
+
+    /**
+     * Accepts the encoded image of the canvas.
+     *
+     * @param captureId the ID of the capture
+     * @param image the encoded image
+     */
+    @JsAccessible
+    public void complete(String captureId, JsArrayBuffer image) {
+        this.image.complete(captureId, image.bytes());
+    }
+
+    /**
+     * Accepts the failure to encode the canvas.
+     *
+     * @param captureId the ID of the capture
+     * @param message the description of the failure
+     */
+    @JsAccessible
+    public void fail(String captureId, String message) {
+        image.fail(captureId, message);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+/**
+ * An enumeration of the ways the image of a drawn chart is obtained from the browser.
+ */
+enum CaptureMode {
+
+    /**
+     * The bitmap of the whole browser view is read back and encoded on the server
+     * by the {@linkplain ImageEncoders encoder} of the requested format.
+     */
+    BITMAP,
+
+    /**
+     * The chart canvas is encoded by the browser itself, and only the encoded
+     * bytes are passed to the server via the {@link CanvasCaptureBridge}.
+     *
+     * <p>This spares the full-frame readback and the server-side encoding,
+     * and captures just the canvas area at the resolution of the canvas.
+     * The compression settings, except for the JPEG and WebP quality,
+     * do not apply.
+     */
+    CANVAS
+}
@@ -22,115 +22,536 @@
 
 package com.teamdev.jxbrowser.gallery.charts;
 
-import com.teamdev.jxbrowser.browser.Browser;
-import com.teamdev.jxbrowser.engine.Engine;
-import com.teamdev.jxbrowser.engine.EngineOptions;
-import com.teamdev.jxbrowser.license.internal.LicenseProvider;
 import io.micronaut.context.annotation.Context;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Header;
+import io.micronaut.http.annotation.Produces;
 import io.micronaut.http.annotation.QueryValue;
-import io.micronaut.http.server.types.files.SystemFile;
+import io.micronaut.http.exceptions.HttpStatusException;
 
-import javax.imageio.ImageIO;
-import java.io.File;
-import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
-import static com.teamdev.jxbrowser.engine.RenderingMode.HARDWARE_ACCELERATED;
+import static io.micronaut.http.HttpHeaders.ACCEPT;
+import static io.micronaut.http.HttpHeaders.ETAG;
+import static io.micronaut.http.HttpHeaders.IF_NONE_MATCH;
+import static io.micronaut.http.HttpHeaders.VARY;
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static io.micronaut.http.HttpStatus.NOT_ACCEPTABLE;
+import static io.micronaut.http.MediaType.IMAGE_JPEG;
+import static io.micronaut.http.MediaType.IMAGE_PNG;
 
 /**
- * A controller that exports charts to the PNG image format.
+ * A controller that exports charts to images.
  *
- * <p>The process of rendering and exporting a chart is roughly the following:
- * <ol>
- *   <li>A {@link ChartWidget} instance with the passed chart parameters is created
- *       and saved as an HTML file.
- *   <li>A pre-created {@link Browser} instance loads the local URL denoting
- *       the saved HTML file.
- *   <li>The browser's bitmap, which now contains the rendered chart, is converted
- *       to {@code BufferedImage} and saved as PNG.
- *   <li>The saved file bytes are streamed back to the client as {@link SystemFile}.
- * </ol>
+ * <p>The charts are exported to PNG by default. The JPEG and WebP formats
+ * may be requested either via the {@code format} query parameter, or via
+ * the {@code Accept} header. See {@link ImageEncoders} for details.
+ *
+ * <p>The charts are also exported to the vector formats, SVG and PDF, via
+ * the dedicated endpoints. A vector chart has no scale, and is usually
+ * much smaller than a raster one.
+ *
+ * <p>The size of the chart may be requested via the {@code width}, {@code height}
+ * and {@code scale} query parameters, described in {@link ChartSize}. The thumbnail
+ * endpoints render smaller charts at half the resolution by default, which suits
+ * listings and previews.
+ *
+ * <p>The chart parameters are brought to the {@linkplain ChartParams canonical}
+ * form, and the chart is looked up in the {@link ExportCache}. If not found,
+ * the chart is rendered by the {@link ChartRenderer} and cached. The identical
+ * requests that arrive while the chart is being rendered are
+ * {@linkplain InFlightExports coalesced} with the first one. The requests are
+ * counted by the {@link PopularCharts}, so that the most popular charts are
+ * {@linkplain PreRenderer rendered in advance} while the server is idle.
+ *
+ * <p>The endpoints do not block the threads of the HTTP server. A chart that is not
+ * cached is rendered on the {@link RenderQueue}, and the response is completed
+ * asynchronously. If the queue is full, the request is rejected at once with
+ * {@code 503 Service Unavailable} and the {@code Retry-After} header.
+ * The exports are {@linkplain RequestClass#INTERACTIVE interactive} unless
+ * the {@code X-Request-Class} header tells otherwise, see {@link RenderRequest}.
+ *
+ * <p>Under load, the raster charts are exported at a {@linkplain AdaptiveQuality
+ * reduced quality} rather than late. The {@code X-Render-Quality} header of
+ * the response tells whether the quality is {@code full} or {@code reduced}, so
+ * the client may request the chart again later. The reduced charts are cached under
+ * the keys of what is actually reduced, never under the keys of the full-quality ones.
+ * A chart cached at the full quality is always sent as is.
+ *
+ * <p>The responses carry a strong {@code ETag} derived from the image content.
+ * If the client already has the image, as indicated by the {@code If-None-Match}
+ * header, the {@code 304 Not Modified} response is sent instead.
  *
  * @implNote This controller is of {@link Context} scope to avoid increased latency
- * upon receiving the first request.
+ * upon receiving the first request. The browsers of the pool are created and
+ * pre-warmed along with the controller.
  */
 @Controller("/export")
 @Context
 final class ChartExportController {
 
     /**
-     * A browser instance that is re-used for server-side rendering of the charts.
+     * The media type of the WebP images.
+     */
+    private static final String IMAGE_WEBP = "image/webp";
+
+    /**
+     * The media type of the SVG images.
+     */
+    private static final String IMAGE_SVG = "image/svg+xml";
+
+    /**
+     * The media type of the PDF documents.
+     */
+    private static final String APPLICATION_PDF = "application/pdf";
+
+    /**
+     * The header telling the quality the chart is exported at.
+     */
+    private static final String RENDER_QUALITY = "X-Render-Quality";
+
+    /**
+     * The renderer of the exported charts.
+     */
+    private final ChartRenderer renderer;
+
+    /**
+     * The encoders of the exported charts.
      */
-    private final Browser browser;
+    private final ImageEncoders encoders;
+
+    /**
+     * The cache of the previously exported charts.
+     */
+    private final ExportCache cache;
+
+    /**
+     * The queue of the charts waiting to be rendered.
+     */
+    private final RenderQueue queue;
+
+    /**
+     * The exports of the charts being rendered at the moment.
+     */
+    private final InFlightExports inFlight;
+
+    /**
+     * The quality the charts are exported at under the current load.
+     */
+    private final AdaptiveQuality adaptiveQuality;
+
+    /**
+     * The counter of the requests of each chart.
+     */
+    private final PopularCharts popularCharts;
+
+    /**
+     * Whether the clients are identified by the {@code X-Client-Id} header.
+     */
+    private final boolean trustClientId;
 
     /**
      * Creates a new controller instance.
      *
-     * <p>Initializes a {@link Browser} instance that will be used for server-side
-     * rendering of the charts.
-     *
-     * <p>Also, obtains the URL of the local HTML representing the canvas where
-     * the charts will be drawn.
+     * @param renderer the renderer of the exported charts
+     * @param encoders the encoders of the exported charts
+     * @param cache the cache of the previously exported charts
+     * @param queue the queue of the charts waiting to be rendered
+     * @param inFlight the exports of the charts being rendered at the moment
+     * @param adaptiveQuality the quality the charts are exported at under the current load
+     * @param popularCharts the counter of the requests of each chart
+     * @param queueConfiguration the configuration of the queue, which tells how
+     *         the clients are identified
      */
-    @SuppressWarnings("resource" /* The engine has the same lifetime as the application. */)
-    ChartExportController() {
-        var options = EngineOptions.newBuilder(HARDWARE_ACCELERATED)
-                .licenseKey(LicenseProvider.INSTANCE.getKey())
-                .build();
-        var engine = Engine.newInstance(options);
-        browser = engine.newBrowser();
+    ChartExportController(ChartRenderer renderer,
+                          ImageEncoders encoders,
+                          ExportCache cache,
+                          RenderQueue queue,
+                          InFlightExports inFlight,
+                          AdaptiveQuality adaptiveQuality,
+                          PopularCharts popularCharts,
+                          RenderQueueConfiguration queueConfiguration) {
+        this.renderer = renderer;
+        this.encoders = encoders;
+        this.cache = cache;
+        this.queue = queue;
+        this.inFlight = inFlight;
+        this.adaptiveQuality = adaptiveQuality;
+        this.popularCharts = popularCharts;
+        this.trustClientId = queueConfiguration.isTrustClientId();
     }
 
     /**
-     * Exports the "Per Capita Energy Use" chart to a PNG image.
+     * Exports the "Per Capita Energy Use" chart to an image.
      *
      * @param params the parameters to pass to the chart drawing function
-     * @return a {@link SystemFile} instance representing the exported PNG image
-     * @throws IOException if an I/O error occurs during the operation
+     * @param width the width of the chart in CSS pixels
+     * @param height the height of the chart in CSS pixels
+     * @param scale the ratio of the image pixels to the CSS pixels
+     * @param format the requested image format, PNG by default
+     * @param accept the media types accepted by the client
+     * @param ifNoneMatch the entity tags of the images the client already has
+     * @param request the HTTP request, which tells the class and the client of the export
+     * @return the response with the exported image
      */
     @Get("/per-capita-energy-use/png")
-    SystemFile perCapitaEnergyUsePng(@QueryValue String params) throws IOException {
-        var widget = ChartWidget.createAndWriteToFile(
-                Dataset.PER_CAPITA_ENERGY_USE, "window.drawPerCapitaEnergyUseChart", params
+    @Produces({IMAGE_PNG, IMAGE_JPEG, IMAGE_WEBP})
+    CompletableFuture<HttpResponse<byte[]>> perCapitaEnergyUsePng(
+            @QueryValue String params,
+            @Nullable @QueryValue Integer width,
+            @Nullable @QueryValue Integer height,
+            @Nullable @QueryValue Double scale,
+            @Nullable @QueryValue String format,
+            @Nullable @Header(ACCEPT) String accept,
+            @Nullable @Header(IF_NONE_MATCH) String ifNoneMatch,
+            HttpRequest<?> request) {
+        var size = size(width, height, scale, ChartSize.DEFAULT);
+        return export(
+                Dataset.PER_CAPITA_ENERGY_USE, params, size, format, accept, ifNoneMatch, request
         );
-        var widgetUrl = widget.url();
-        browser.navigation()
-               .loadUrlAndWait(widgetUrl.toString());
+    }
 
-        var image = saveBitmapPng("images/per-capita-energy-use.png");
-        return new SystemFile(image);
+    /**
+     * Exports the thumbnail of the "Per Capita Energy Use" chart to an image.
+     *
+     * @param params the parameters to pass to the chart drawing function,
+     *         the default ones if omitted
+     * @param width the width of the chart in CSS pixels
+     * @param height the height of the chart in CSS pixels
+     * @param scale the ratio of the image pixels to the CSS pixels
+     * @param format the requested image format, PNG by default
+     * @param accept the media types accepted by the client
+     * @param ifNoneMatch the entity tags of the images the client already has
+     * @param request the HTTP request, which tells the class and the client of the export
+     * @return the response with the exported image
+     */
+    @Get("/per-capita-energy-use/thumbnail")
+    @Produces({IMAGE_PNG, IMAGE_JPEG, IMAGE_WEBP})
+    CompletableFuture<HttpResponse<byte[]>> perCapitaEnergyUseThumbnail(
+            @QueryValue(defaultValue = "{}") String params,
+            @Nullable @QueryValue Integer width,
+            @Nullable @QueryValue Integer height,
+            @Nullable @QueryValue Double scale,
+            @Nullable @QueryValue String format,
+            @Nullable @Header(ACCEPT) String accept,
+            @Nullable @Header(IF_NONE_MATCH) String ifNoneMatch,
+            HttpRequest<?> request) {
+        var size = size(width, height, scale, ChartSize.THUMBNAIL);
+        return export(
+                Dataset.PER_CAPITA_ENERGY_USE, params, size, format, accept, ifNoneMatch, request
+        );
     }
 
     /**
-     * Exports the "Energy Consumption by Source" chart to a PNG image.
+     * Exports the "Per Capita Energy Use" chart to SVG.
      *
      * @param params the parameters to pass to the chart drawing function
-     * @return a {@link SystemFile} instance representing the exported PNG image
-     * @throws IOException if an I/O error occurs during the operation
+     * @param width the width of the chart
+     * @param height the height of the chart
+     * @param ifNoneMatch the entity tags of the images the client already has
+     * @param request the HTTP request, which tells the class and the client of the export
+     * @return the response with the exported image
+     */
+    @Get("/per-capita-energy-use/svg")
+    @Produces(IMAGE_SVG)
+    CompletableFuture<HttpResponse<byte[]>> perCapitaEnergyUseSvg(
+            @QueryValue String params,
+            @Nullable @QueryValue Integer width,
+            @Nullable @QueryValue Integer height,
+            @Nullable @Header(IF_NONE_MATCH) String ifNoneMatch,
+            HttpRequest<?> request) {
+        var size = size(width, height, null, ChartSize.DEFAULT);
+        return export(
+                Dataset.PER_CAPITA_ENERGY_USE, params, size, ImageFormat.SVG,
+                ifNoneMatch, request
+        );
+    }
+
+    /**
+     * Exports the "Per Capita Energy Use" chart to PDF.
+     *
+     * @param params the parameters to pass to the chart drawing function
+     * @param width the width of the page
+     * @param height the height of the page
+     * @param ifNoneMatch the entity tags of the documents the client already has
+     * @param request the HTTP request, which tells the class and the client of the export
+     * @return the response with the exported document
+     */
+    @Get("/per-capita-energy-use/pdf")
+    @Produces(APPLICATION_PDF)
+    CompletableFuture<HttpResponse<byte[]>> perCapitaEnergyUsePdf(
+            @QueryValue String params,
+            @Nullable @QueryValue Integer width,
+            @Nullable @QueryValue Integer height,
+            @Nullable @Header(IF_NONE_MATCH) String ifNoneMatch,
+            HttpRequest<?> request) {
+        var size = size(width, height, null, ChartSize.DEFAULT);
+        return export(
+                Dataset.PER_CAPITA_ENERGY_USE, params, size, ImageFormat.PDF,
+                ifNoneMatch, request
+        );
+    }
+
+    /**
+     * Exports the "Energy Consumption by Source" chart to an image.
+     *
+     * @param params the parameters to pass to the chart drawing function
+     * @param width the width of the chart in CSS pixels
+     * @param height the height of the chart in CSS pixels
+     * @param scale the ratio of the image pixels to the CSS pixels
+     * @param format the requested image format, PNG by default
+     * @param accept the media types accepted by the client
+     * @param ifNoneMatch the entity tags of the images the client already has
+     * @param request the HTTP request, which tells the class and the client of the export
+     * @return the response with the exported image
      */
     @Get("/energy-consumption-by-source/png")
-    SystemFile energyConsumptionBySourcePng(@QueryValue String params) throws IOException {
-        var widget = ChartWidget.createAndWriteToFile(
-                Dataset.ENERGY_CONSUMPTION_BY_SOURCE,
-                "window.drawEnergyConsumptionBySourceChart",
-                params
+    @Produces({IMAGE_PNG, IMAGE_JPEG, IMAGE_WEBP})
+    CompletableFuture<HttpResponse<byte[]>> energyConsumptionBySourcePng(
+            @QueryValue String params,
+            @Nullable @QueryValue Integer width,
+            @Nullable @QueryValue Integer height,
+            @Nullable @QueryValue Double scale,
+            @Nullable @QueryValue String format,
+            @Nullable @Header(ACCEPT) String accept,
+            @Nullable @Header(IF_NONE_MATCH) String ifNoneMatch,
+            HttpRequest<?> request) {
+        var size = size(width, height, scale, ChartSize.DEFAULT);
+        return export(
+                Dataset.ENERGY_CONSUMPTION_BY_SOURCE, params, size, format, accept,
+                ifNoneMatch, request
+        );
+    }
+
+    /**
+     * Exports the thumbnail of the "Energy Consumption by Source" chart to an image.
+     *
+     * @param params the parameters to pass to the chart drawing function,
+     *         the default ones if omitted
+     * @param width the width of the chart in CSS pixels
+     * @param height the height of the chart in CSS pixels
+     * @param scale the ratio of the image pixels to the CSS pixels
+     * @param format the requested image format, PNG by default
+     * @param accept the media types accepted by the client
+     * @param ifNoneMatch the entity tags of the images the client already has
+     * @param request the HTTP request, which tells the class and the client of the export
+     * @return the response with the exported image
+     */
+    @Get("/energy-consumption-by-source/thumbnail")
+    @Produces({IMAGE_PNG, IMAGE_JPEG, IMAGE_WEBP})
+    CompletableFuture<HttpResponse<byte[]>> energyConsumptionBySourceThumbnail(
+            @QueryValue(defaultValue = "{}") String params,
+            @Nullable @QueryValue Integer width,
+            @Nullable @QueryValue Integer height,
+            @Nullable @QueryValue Double scale,
+            @Nullable @QueryValue String format,
+            @Nullable @Header(ACCEPT) String accept,
+            @Nullable @Header(IF_NONE_MATCH) String ifNoneMatch,
+            HttpRequest<?> request) {
+        var size = size(width, height, scale, ChartSize.THUMBNAIL);
+        return export(
+                Dataset.ENERGY_CONSUMPTION_BY_SOURCE, params, size, format, accept,
+                ifNoneMatch, request
         );
-        var widgetUrl = widget.url();
-        browser.navigation()
-               .loadUrlAndWait(widgetUrl.toString());
-
-        var image = saveBitmapPng("images/energy-consumption-by-source.png");
-        return new SystemFile(image);
-    }
-
-    private File saveBitmapPng(String fileName) throws IOException {
-        var bitmap = browser.bitmap();
-        var image = new BitmapConverter().toBufferedImage(bitmap);
-        var output = new File(fileName);
-        output.getParentFile()
-              .mkdirs();
-        ImageIO.write(image, "png", output);
-        return output;
+    }
+
+    /**
+     * Exports the "Energy Consumption by Source" chart to SVG.
+     *
+     * @param params the parameters to pass to the chart drawing function
+     * @param width the width of the chart
+     * @param height the height of the chart
+     * @param ifNoneMatch the entity tags of the images the client already has
+     * @param request the HTTP request, which tells the class and the client of the export
+     * @return the response with the exported image
+     */
+    @Get("/energy-consumption-by-source/svg")
+    @Produces(IMAGE_SVG)
+    CompletableFuture<HttpResponse<byte[]>> energyConsumptionBySourceSvg(
+            @QueryValue String params,
+            @Nullable @QueryValue Integer width,
+            @Nullable @QueryValue Integer height,
+            @Nullable @Header(IF_NONE_MATCH) String ifNoneMatch,
+            HttpRequest<?> request) {
+        var size = size(width, height, null, ChartSize.DEFAULT);
+        return export(
+                Dataset.ENERGY_CONSUMPTION_BY_SOURCE, params, size, ImageFormat.SVG,
+                ifNoneMatch, request
+        );
+    }
+
+    /**
+     * Exports the "Energy Consumption by Source" chart to PDF.
+     *
+     * @param params the parameters to pass to the chart drawing function
+     * @param width the width of the page
+     * @param height the height of the page
+     * @param ifNoneMatch the entity tags of the documents the client already has
+     * @param request the HTTP request, which tells the class and the client of the export
+     * @return the response with the exported document
+     */
+    @Get("/energy-consumption-by-source/pdf")
+    @Produces(APPLICATION_PDF)
+    CompletableFuture<HttpResponse<byte[]>> energyConsumptionBySourcePdf(
+            @QueryValue String params,
+            @Nullable @QueryValue Integer width,
+            @Nullable @QueryValue Integer height,
+            @Nullable @Header(IF_NONE_MATCH) String ifNoneMatch,
+            HttpRequest<?> request) {
+        var size = size(width, height, null, ChartSize.DEFAULT);
+        return export(
+                Dataset.ENERGY_CONSUMPTION_BY_SOURCE, params, size, ImageFormat.PDF,
+                ifNoneMatch, request
+        );
+    }
+
+    /**
+     * Exports the chart to an image in the negotiated format.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> export(Dataset dataset,
+                                                           String params,
+                                                           ChartSize size,
+                                                           @Nullable String format,
+                                                           @Nullable String accept,
+                                                           @Nullable String ifNoneMatch,
+                                                           HttpRequest<?> request) {
+        return export(dataset, params, size, negotiate(format, accept), ifNoneMatch, request);
+    }
+
+    /**
+     * Exports the chart to an image, taking it from the cache if possible.
+     *
+     * <p>A chart cached in the memory is sent right away, and a chart stored on
+     * the disk once it is read in the background. Otherwise, the chart is rendered
+     * via the {@link RenderQueue}, and the response is sent once it is ready.
+     * The concurrent requests of the same chart share a single rendering,
+     * scheduled by the class and the client of the first one.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> export(Dataset dataset,
+                                                           String params,
+                                                           ChartSize size,
+                                                           ImageFormat format,
+                                                           @Nullable String ifNoneMatch,
+                                                           HttpRequest<?> request) {
+        var renderRequest = renderRequest(request);
+        var key = new ExportKey(dataset, canonicalize(params), format, size);
+        popularCharts.record(key);
+        return cache.get(key)
+                    .thenCompose(cached -> {
+                        if (cached.isPresent()) {
+                            var response = respond(
+                                    cached.get(), ifNoneMatch, RenderQuality.FULL.describe(key, key)
+                            );
+                            return CompletableFuture.completedFuture(response);
+                        }
+                        return exportReduced(key, ifNoneMatch, renderRequest);
+                    });
+    }
+
+    /**
+     * Exports the chart missing from the cache at the current quality, taking
+     * the reduced chart from the cache if possible.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> exportReduced(ExportKey key,
+                                                                  @Nullable String ifNoneMatch,
+                                                                  RenderRequest renderRequest) {
+        var quality = adaptiveQuality.current();
+        var exported = quality.apply(key, renderer.captureMode());
+        var qualityHeader = quality.describe(key, exported);
+        var lookup = exported.equals(key)
+                     ? CompletableFuture.completedFuture(Optional.<ExportedChart>empty())
+                     : cache.get(exported);
+        return lookup.thenCompose(reduced -> {
+            if (reduced.isPresent()) {
+                var response = respond(reduced.get(), ifNoneMatch, qualityHeader);
+                return CompletableFuture.completedFuture(response);
+            }
+            return render(exported, qualityHeader, ifNoneMatch, renderRequest);
+        });
+    }
+
+    /**
+     * Renders the chart via the {@link RenderQueue} and caches it.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> render(ExportKey exported,
+                                                           String qualityHeader,
+                                                           @Nullable String ifNoneMatch,
+                                                           RenderRequest renderRequest) {
+        var submitted = System.nanoTime();
+        return inFlight.join(exported, () -> queue.submit(renderRequest, () -> {
+                           var chart = renderer.render(exported);
+                           cache.put(exported, chart);
+                           adaptiveQuality.record(System.nanoTime() - submitted);
+                           return chart;
+                       }))
+                       .thenApply(chart -> respond(chart, ifNoneMatch, qualityHeader));
+    }
+
+    /**
+     * Responds with the exported chart, unless the client already has it.
+     *
+     * <p>The response tells the quality the chart is exported at, as {@linkplain
+     * RenderQuality#describe described} by the passed header value.
+     */
+    private static HttpResponse<byte[]> respond(ExportedChart chart,
+                                                @Nullable String ifNoneMatch,
+                                                String qualityHeader) {
+        if (chart.matches(ifNoneMatch)) {
+            return HttpResponse.<byte[]>notModified()
+                               .header(ETAG, chart.etag())
+                               .header(VARY, ACCEPT)
+                               .header(RENDER_QUALITY, qualityHeader);
+        }
+        return HttpResponse.ok(chart.bytes())
+                           .contentType(chart.format()
+                                             .mediaType())
+                           .contentLength(chart.size())
+                           .header(ETAG, chart.etag())
+                           .header(VARY, ACCEPT)
+                           .header(RENDER_QUALITY, qualityHeader);
+    }
+
+    private RenderRequest renderRequest(HttpRequest<?> request) {
+        try {
+            return RenderRequest.of(request, trustClientId);
+        } catch (IllegalArgumentException e) {
+            throw new HttpStatusException(BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private ImageFormat negotiate(@Nullable String format, @Nullable String accept) {
+        try {
+            return encoders.negotiate(format, accept)
+                           .orElseThrow(() -> new HttpStatusException(
+                                   NOT_ACCEPTABLE,
+                                   "The `%s` format is not supported.".formatted(format)
+                           ));
+        } catch (IllegalArgumentException e) {
+            throw new HttpStatusException(BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static ChartSize size(@Nullable Integer width,
+                                  @Nullable Integer height,
+                                  @Nullable Double scale,
+                                  ChartSize defaults) {
+        try {
+            return ChartSize.of(width, height, scale, defaults);
+        } catch (IllegalArgumentException e) {
+            throw new HttpStatusException(BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static String canonicalize(String params) {
+        try {
+            return ChartParams.canonicalize(params);
+        } catch (IllegalArgumentException e) {
+            throw new HttpStatusException(BAD_REQUEST, e.getMessage());
+        }
     }
 }
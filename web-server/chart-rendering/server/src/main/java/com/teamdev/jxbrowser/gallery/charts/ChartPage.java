@@ -0,0 +1,519 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import com.teamdev.jxbrowser.browser.Browser;
+import com.teamdev.jxbrowser.browser.callback.InjectJsCallback;
+import com.teamdev.jxbrowser.browser.callback.PrintCallback;
+import com.teamdev.jxbrowser.browser.callback.PrintHtmlCallback;
+import com.teamdev.jxbrowser.browser.event.RenderProcessTerminated;
+import com.teamdev.jxbrowser.frame.Frame;
+import com.teamdev.jxbrowser.js.JsObject;
+import com.teamdev.jxbrowser.print.event.PrintCompleted;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static j2html.TagCreator.body;
+import static j2html.TagCreator.canvas;
+import static j2html.TagCreator.div;
+import static j2html.TagCreator.each;
+import static j2html.TagCreator.script;
+import static j2html.TagCreator.style;
+import static java.nio.file.Files.writeString;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * A persistent page on which a browser draws the charts.
+ *
+ * <p>The page holds a canvas per {@link Dataset} in a box at the top-left corner
+ * of the page, along with the chart-drawing script. It is saved as an HTML file
+ * to the workspace of the browser and loaded only once, when the browser is
+ * created. After that, each chart is {@linkplain #draw drawn} by calling
+ * the chart-drawing function of the already loaded page, which spares a file
+ * write, a navigation and a script parse per request.
+ *
+ * <p>The datasets are not inlined into the chart-drawing scripts. Instead,
+ * the page obtains a dataset from the {@link DatasetBridge} the first time
+ * it draws a chart based on it, and keeps the parsed data in memory, keyed by
+ * the dataset ID and {@linkplain Dataset#version() version}.
+ *
+ * <p>Before a chart is drawn, the box is sized and scaled according to the requested
+ * {@link ChartSize}, and the browser is resized to fit the scaled box exactly.
+ * So, the browser's bitmap contains just the chart at the requested resolution.
+ *
+ * <p>Alternatively, several charts of the same size can be {@linkplain #drawAtlas drawn}
+ * at once, in a grid of canvases described by an {@link AtlasLayout}. The browser
+ * is then resized to fit the whole grid, and a single bitmap holds all the charts.
+ *
+ * <p>A chart is drawn asynchronously. Once it is painted and presented,
+ * the page signals it via the {@link RenderSignalBridge}, and only then
+ * the browser's bitmap is guaranteed to contain the complete chart.
+ *
+ * <p>Besides the browser's bitmap, the image of a drawn chart can be obtained by
+ * {@linkplain #encodeCanvas encoding} its canvas in the page. The encoded image
+ * is passed back via the {@link CanvasCaptureBridge}.
+ *
+ * <p>A chart can also be {@linkplain #drawSvg drawn as SVG}, and then
+ * {@linkplain #printPdf printed} to PDF, bypassing the pixels altogether.
+ *
+ * <p>The chart-drawing script is shared by all the workspaces and resides
+ * in their parent directory.
+ *
+ * <p>Once the page fails to respond in time, or its render process terminates,
+ * the page is {@linkplain #isBroken() broken}, and the browser has to be replaced.
+ */
+final class ChartPage {
+
+    /**
+     * The name of the HTML file representing the page.
+     */
+    private static final String FILE_NAME = "charts.html";
+
+    /**
+     * The ID of the box holding the canvases.
+     */
+    private static final String CHART_BOX_ID = "chart";
+
+    /**
+     * The ID of the box holding the canvases of the atlas.
+     */
+    private static final String ATLAS_BOX_ID = "atlas";
+
+    /**
+     * The ID of the box holding the canvas the charts are drawn as SVG on.
+     */
+    private static final String VECTOR_BOX_ID = "vector";
+
+    /**
+     * The name of the PDF file the charts are printed to.
+     */
+    private static final String PDF_FILE_NAME = "chart.pdf";
+
+    /**
+     * The style sheet that prints only the chart drawn as SVG.
+     */
+    private static final String PRINT_STYLE =
+            "@media print { body > * { display: none !important; }"
+                    + " #vector-image { display: block !important; } }";
+
+    /**
+     * The browser that loads the page.
+     */
+    private final Browser browser;
+
+    /**
+     * The path to the HTML file representing the page.
+     */
+    private final Path path;
+
+    /**
+     * The receiver of the canvas images encoded by the page.
+     */
+    private final CanvasCaptureBridge canvasCapture = new CanvasCaptureBridge();
+
+    /**
+     * The receiver of the signals that the charts are rendered.
+     */
+    private final RenderSignalBridge renderSignal = new RenderSignalBridge();
+
+    /**
+     * The PDF file of the last started printing.
+     */
+    private final PageCallback<Path> printing = new PageCallback<>("print the chart to PDF");
+
+    /**
+     * Whether the page has failed to respond in time, or its render process
+     * has terminated.
+     */
+    private volatile boolean broken;
+
+    /**
+     * The versions of the datasets the page holds parsed.
+     */
+    private final Map<Dataset, String> loadedDatasets = new ConcurrentHashMap<>();
+
+    /**
+     * The chart last drawn on the canvas of its dataset, if the view still has
+     * its size, or {@code null} otherwise.
+     */
+    private volatile DrawnChart drawnChart;
+
+    private ChartPage(Browser browser, Path directory) {
+        this.browser = browser;
+        this.path = directory.resolve(FILE_NAME);
+    }
+
+    /**
+     * Saves the page as an HTML file to the passed directory and loads it
+     * in the passed browser.
+     *
+     * @param browser the browser to load the page in
+     * @param directory the directory where the page is written
+     * @return the loaded page
+     */
+    static ChartPage load(Browser browser, Path directory) {
+        var page = new ChartPage(browser, directory);
+        page.writeToFile();
+        browser.set(InjectJsCallback.class, page::injectBridges);
+        browser.set(PrintCallback.class, (params, tell) -> tell.print());
+        browser.on(RenderProcessTerminated.class, event -> page.markBroken());
+        browser.navigation()
+               .loadUrlAndWait(page.url()
+                                   .toString());
+        return page;
+    }
+
+    /**
+     * Draws a chart on the canvas of the passed dataset and waits until
+     * it is rendered.
+     *
+     * <p>The canvases of other datasets are hidden, so that the browser's bitmap
+     * contains only the drawn chart.
+     *
+     * <p>The data is referenced by the dataset ID, and is loaded into the page
+     * only if it has not been loaded yet.
+     *
+     * @param dataset the data upon which the drawn chart is based
+     * @param drawParams the parameters passed to the {@linkplain Dataset#drawFunction()
+     *         drawing function}
+     * @param size the size of the chart
+     * @param timeout the maximum time to wait for the chart to be rendered
+     * @throws RenderingUnavailableException if the chart is not rendered in time
+     * @throws IllegalStateException if the page fails to draw the chart
+     */
+    void draw(Dataset dataset, String drawParams, ChartSize size, Duration timeout) {
+        drawnChart = null;
+        fitView(size.pixelWidth(), size.pixelHeight());
+        var drawing = renderSignal.drawing();
+        var drawId = drawing.start();
+        var script = "window.drawChart('%s', %s, '%s', '%s', %s, %d, %d, %s);".formatted(
+                drawId, dataset.drawFunction(), dataset.id(), dataset.version(),
+                ChartSummary.addTo(drawParams, dataset), size.width(), size.height(), size.scale()
+        );
+        mainFrame().executeJavaScript(script);
+        await(drawing, timeout);
+        loaded(dataset);
+        drawnChart = new DrawnChart(dataset, size);
+    }
+
+    /**
+     * Draws several charts of the same size in a grid, and waits until all of them
+     * are rendered.
+     *
+     * <p>The charts are drawn on the canvases of the atlas, which is shown instead
+     * of the single-chart box, so that the browser's bitmap contains just the grid.
+     * The canvases of the atlas are created as needed and reused afterwards.
+     *
+     * @param charts the keys of the charts in the order of the atlas cells;
+     *         their formats are ignored
+     * @param layout the layout of the atlas
+     * @param timeout the maximum time to wait for the charts to be rendered
+     * @throws RenderingUnavailableException if the charts are not rendered in time
+     * @throws IllegalStateException if the page fails to draw the charts
+     */
+    void drawAtlas(List<ExportKey> charts, AtlasLayout layout, Duration timeout) {
+        drawnChart = null;
+        fitView(layout.pixelWidth(), layout.pixelHeight());
+        var drawing = renderSignal.drawing();
+        var drawId = drawing.start();
+        var items = charts.stream()
+                          .map(ChartPage::atlasItem)
+                          .collect(joining(", ", "[", "]"));
+        var size = layout.size();
+        var script = "window.drawAtlas('%s', %s, %d, %d, %s, %d);".formatted(
+                drawId, items, size.width(), size.height(), size.scale(), layout.columns()
+        );
+        mainFrame().executeJavaScript(script);
+        await(drawing, timeout);
+        charts.forEach(chart -> loaded(chart.dataset()));
+    }
+
+    /**
+     * Returns the JavaScript object describing the chart to draw in an atlas.
+     */
+    private static String atlasItem(ExportKey chart) {
+        var dataset = chart.dataset();
+        return "{draw: %s, dataset: '%s', version: '%s', params: %s}".formatted(
+                dataset.drawFunction(), dataset.id(), dataset.version(),
+                ChartSummary.addTo(chart.params(), dataset)
+        );
+    }
+
+    /**
+     * Resizes the browser to the passed size of the image, unless it already
+     * has this size.
+     *
+     * <p>The page signals that the chart is rendered only after the view is resized.
+     */
+    private void fitView(int width, int height) {
+        var current = browser.size();
+        if (current.width() != width || current.height() != height) {
+            browser.resize(width, height);
+        }
+    }
+
+    /**
+     * Encodes the canvas of the passed dataset in the page.
+     *
+     * <p>The chart must be {@linkplain #draw drawn} on the canvas beforehand.
+     *
+     * @param dataset the dataset whose canvas to encode
+     * @param format the format of the image
+     * @param quality the compression quality of the lossy formats, from 0 to 1
+     * @param timeout the maximum time to wait for the encoded image
+     * @return the encoded image
+     * @throws RenderingUnavailableException if the canvas is not encoded in time
+     */
+    byte[] encodeCanvas(Dataset dataset, ImageFormat format, float quality, Duration timeout) {
+        var image = canvasCapture.image();
+        var captureId = image.start();
+        var script = "window.encodeCanvas('%s', '%s', '%s', %s);".formatted(
+                captureId, dataset.id(), format.mediaType(), quality
+        );
+        mainFrame().executeJavaScript(script);
+        return await(image, timeout);
+    }
+
+    /**
+     * Draws a chart as an SVG document.
+     *
+     * <p>The chart is drawn by the same function as on a canvas, but the drawing
+     * operations are recorded as SVG elements instead of being rasterized.
+     * So, neither the browser's bitmap nor the canvas pixels are involved.
+     * The document is also kept in the page to be {@linkplain #printPdf printed}.
+     *
+     * @param dataset the data upon which the drawn chart is based
+     * @param drawParams the parameters passed to the {@linkplain Dataset#drawFunction()
+     *         drawing function}
+     * @param size the size of the chart; the scale is ignored
+     * @param timeout the maximum time to wait for the document
+     * @return the SVG document in UTF-8
+     * @throws RenderingUnavailableException if the chart is not drawn in time
+     * @throws IllegalStateException if the page fails to draw the chart
+     */
+    byte[] drawSvg(Dataset dataset, String drawParams, ChartSize size, Duration timeout) {
+        var image = canvasCapture.image();
+        var captureId = image.start();
+        var script = "window.drawSvg('%s', %s, '%s', '%s', %s, %d, %d);".formatted(
+                captureId, dataset.drawFunction(), dataset.id(), dataset.version(),
+                ChartSummary.addTo(drawParams, dataset), size.width(), size.height()
+        );
+        mainFrame().executeJavaScript(script);
+        var svg = await(image, timeout);
+        loaded(dataset);
+        return svg;
+    }
+
+    /**
+     * Prints the chart last {@linkplain #drawSvg drawn as SVG} to PDF.
+     *
+     * <p>The browser's print pipeline keeps the SVG elements as vector graphics.
+     * The page is of the size of the chart, and contains nothing but the chart.
+     *
+     * @param timeout the maximum time to wait for the printing
+     * @return the PDF document
+     * @throws RenderingUnavailableException if the chart is not printed in time
+     * @throws IllegalStateException if the browser fails to print the chart
+     * @throws IOException if the printed document cannot be read
+     */
+    byte[] printPdf(Duration timeout) throws IOException {
+        var file = path.resolveSibling(PDF_FILE_NAME)
+                       .toAbsolutePath();
+        var printId = printing.start();
+        browser.set(PrintHtmlCallback.class, (params, tell) -> {
+            var printer = params.printers()
+                                .pdfPrinter();
+            var job = printer.printJob();
+            job.settings()
+               .pdfFilePath(file)
+               .disablePrintingHeaderFooter()
+               .apply();
+            job.on(PrintCompleted.class, event -> {
+                if (event.isSuccess()) {
+                    printing.complete(printId, file);
+                } else {
+                    printing.fail(printId, "The browser failed to print the chart.");
+                }
+            });
+            tell.proceed(printer);
+        });
+        mainFrame().print();
+        return Files.readAllBytes(await(printing, timeout));
+    }
+
+    /**
+     * Returns the size of the JavaScript heap of the page in bytes.
+     *
+     * <p>The heap grows as the charts are drawn and destroyed, and it is the part
+     * of the renderer memory the page is responsible for.
+     */
+    long heapSize() {
+        double size = mainFrame().executeJavaScript("performance.memory.usedJSHeapSize");
+        return (long) size;
+    }
+
+    /**
+     * Tells how much of the work to draw a chart of the passed dataset and size
+     * the page has already done.
+     *
+     * <p>The page parses a dataset on the first chart of it, and keeps it until
+     * the dataset version changes. The view of the browser keeps the size of
+     * the last drawn chart.
+     */
+    Warmth warmth(Dataset dataset, ChartSize size) {
+        if (!dataset.version()
+                    .equals(loadedDatasets.get(dataset))) {
+            return Warmth.COLD;
+        }
+        var chart = new DrawnChart(dataset, size);
+        return chart.equals(drawnChart) ? Warmth.CHART : Warmth.DATASET;
+    }
+
+    /**
+     * Remembers that the page holds the current version of the passed dataset parsed.
+     */
+    private void loaded(Dataset dataset) {
+        loadedDatasets.put(dataset, dataset.version());
+    }
+
+    /**
+     * Tells whether the page has failed to respond in time, or its render process
+     * has terminated.
+     */
+    boolean isBroken() {
+        return broken;
+    }
+
+    /**
+     * Marks the page as broken, so that the browser is not used anymore.
+     */
+    void markBroken() {
+        broken = true;
+    }
+
+    /**
+     * Waits for the result of the passed callback, and marks the page as broken
+     * if the page does not respond in time.
+     */
+    private <T> T await(PageCallback<T> callback, Duration timeout) {
+        try {
+            return callback.await(timeout);
+        } catch (RenderingUnavailableException e) {
+            markBroken();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the URL to the HTML file representing this page.
+     */
+    private URL url() {
+        try {
+            return path.toUri()
+                       .toURL();
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(
+                    "Malformed chart page URL: `%s`.".formatted(path), e
+            );
+        }
+    }
+
+    /**
+     * Makes the {@link DatasetBridge}, the {@link RenderSignalBridge} and
+     * the {@link CanvasCaptureBridge} available to the JavaScript code of the page.
+     */
+    private InjectJsCallback.Response injectBridges(InjectJsCallback.Params params) {
+        JsObject window = params.frame()
+                                .executeJavaScript("window");
+        window.putProperty(DatasetBridge.PROPERTY_NAME, new DatasetBridge());
+        window.putProperty(RenderSignalBridge.PROPERTY_NAME, renderSignal);
+        window.putProperty(CanvasCaptureBridge.PROPERTY_NAME, canvasCapture);
+        return InjectJsCallback.Response.proceed();
+    }
+
+    /**
+     * Returns the main frame of the browser that loads the page.
+     */
+    private Frame mainFrame() {
+        return browser.mainFrame()
+                      .orElseThrow(() -> new IllegalStateException(
+                              "The chart page has no main frame."
+                      ));
+    }
+
+    /**
+     * Generates the HTML content of this page.
+     */
+    private static String html() {
+        var datasets = List.of(Dataset.values());
+        var html = body(
+                div(each(datasets, dataset -> canvas().withId(dataset.id())))
+                        .withId(CHART_BOX_ID)
+                        .withStyle("transform-origin: 0 0;"),
+                div().withId(ATLAS_BOX_ID)
+                     .withStyle("display: none; position: relative;"),
+                div(canvas().withId("vector-canvas"))
+                        .withId(VECTOR_BOX_ID)
+                        .withStyle("display: none;"),
+                div().withId("vector-image")
+                     .withStyle("display: none;"),
+                style(PRINT_STYLE),
+                style().withId("page-size"),
+                script().withType("text/javascript")
+                        .withSrc("../charts.js")
+        ).withStyle("margin: 0; overflow: hidden;")
+         .render();
+        return html;
+    }
+
+    /**
+     * Writes this page to a file.
+     */
+    private void writeToFile() {
+        try {
+            writeString(path, html());
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Unable to write the chart page: `%s`.".formatted(path), e
+            );
+        }
+    }
+
+    /**
+     * A chart drawn on the canvas of its dataset.
+     *
+     * @param dataset the dataset of the chart
+     * @param size the size of the chart
+     */
+    private record DrawnChart(Dataset dataset, ChartSize size) {
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.math.BigDecimal;
+import java.util.TreeSet;
+
+/**
+ * A utility for bringing the chart parameters to the canonical form.
+ *
+ * <p>The parameters that differ only in the key order, the whitespace
+ * or the notation of the numbers, like {@code 1970} and {@code 1970.0},
+ * have the same canonical form. This makes the canonical form suitable
+ * for building the cache keys.
+ *
+ * <p>As a side effect, the canonical form is a valid JavaScript object literal,
+ * and can be safely passed to the chart-drawing functions.
+ *
+ * <p>The numbers are only accepted within the range of the JavaScript numbers,
+ * so that a huge exponent does not make the server spell out a huge integer.
+ */
+final class ChartParams {
+
+    /**
+     * The largest decimal exponent of a number in the parameters, which is
+     * the one of the largest JavaScript number.
+     */
+    private static final int MAX_EXPONENT = 308;
+
+    /**
+     * The smallest decimal exponent of a non-zero number in the parameters, which is
+     * the one of the smallest positive JavaScript number.
+     */
+    private static final int MIN_EXPONENT = -324;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private ChartParams() {
+    }
+
+    /**
+     * Returns the canonical form of the passed chart parameters.
+     *
+     * @param params the chart parameters as a JSON object
+     * @return the canonical JSON representation of the parameters
+     * @throws IllegalArgumentException if the parameters are not a valid JSON object,
+     *         or hold a number out of the range of the JavaScript numbers
+     */
+    static String canonicalize(String params) {
+        JsonElement parsed;
+        try {
+            parsed = JsonParser.parseString(params);
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Malformed chart parameters.", e);
+        }
+        if (!parsed.isJsonObject()) {
+            throw new IllegalArgumentException("The chart parameters must be a JSON object.");
+        }
+        return canonicalize(parsed).toString();
+    }
+
+    private static JsonElement canonicalize(JsonElement element) {
+        if (element.isJsonObject()) {
+            var object = element.getAsJsonObject();
+            var sorted = new JsonObject();
+            for (var key : new TreeSet<>(object.keySet())) {
+                sorted.add(key, canonicalize(object.get(key)));
+            }
+            return sorted;
+        }
+        if (element.isJsonArray()) {
+            var array = new JsonArray();
+            element.getAsJsonArray()
+                   .forEach(item -> array.add(canonicalize(item)));
+            return array;
+        }
+        if (element.isJsonPrimitive() && element.getAsJsonPrimitive()
+                                                .isNumber()) {
+            return canonicalNumber(element.getAsBigDecimal());
+        }
+        return element;
+    }
+
+    private static JsonPrimitive canonicalNumber(BigDecimal number) {
+        var stripped = number.stripTrailingZeros();
+        // The decimal exponent of the number in the scientific notation.
+        var exponent = (long) stripped.precision() - stripped.scale() - 1;
+        if (stripped.signum() != 0 && (exponent > MAX_EXPONENT || exponent < MIN_EXPONENT)) {
+            throw new IllegalArgumentException(
+                    "The chart parameters hold a number out of range: `%s`.".formatted(number)
+            );
+        }
+        if (stripped.scale() <= 0) {
+            return new JsonPrimitive(stripped.toBigIntegerExact());
+        }
+        return new JsonPrimitive(stripped);
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Renders the charts in the pooled browsers and encodes them into images.
+ *
+ * <p>The process of rendering a chart is roughly the following:
+ * <ol>
+ *   <li>A browser is checked out from the {@link BrowserPool}, preferably the one
+ *       that is {@linkplain Warmth warm} for the chart.
+ *   <li>The chart is drawn with the passed parameters on the {@link ChartPage}
+ *       the browser has pre-loaded, and the renderer waits until the page signals
+ *       that the chart is rendered.
+ *   <li>The image of the chart is obtained in the configured {@link CaptureMode}:
+ *       <ul>
+ *         <li>either the pixels of the browser's bitmap, which now contains
+ *             the rendered chart, are encoded by the {@linkplain ImageEncoders
+ *             encoder} of the requested format into the {@linkplain ImageBuffers
+ *             buffers} of the browser;
+ *         <li>or the chart canvas is encoded by the page itself.
+ *       </ul>
+ *   <li>The browser is returned to the pool.
+ * </ol>
+ *
+ * <p>The charts exported to the {@linkplain ImageFormat#isVector() vector formats}
+ * skip the pixels altogether. The page draws such a chart as an SVG document,
+ * which is printed to PDF by the browser if requested.
+ *
+ * <p>The images are not written to the file system, unless the
+ * {@linkplain ExportConfiguration#isSaveImages() debug mode} is on. In this mode,
+ * the images are also saved to the workspace of the browser that rendered them.
+ */
+@Singleton
+final class ChartRenderer {
+
+    /**
+     * The name of the pooled stream the images are encoded into.
+     */
+    private static final String ENCODED_IMAGE = "encoded-image";
+
+    /**
+     * The initial capacity of the stream the images are encoded into,
+     * enough for a typical chart image.
+     */
+    private static final int INITIAL_ENCODED_SIZE = 512 * 1024;
+
+    /**
+     * The pool of browsers used for server-side rendering of the charts.
+     */
+    private final BrowserPool browsers;
+
+    /**
+     * The encoders of the rendered charts.
+     */
+    private final ImageEncoders encoders;
+
+    /**
+     * Whether the exported images are also saved to the file system.
+     */
+    private final boolean saveImages;
+
+    /**
+     * The way the images of the drawn charts are obtained from the browsers.
+     */
+    private final CaptureMode captureMode;
+
+    /**
+     * The maximum time to wait for a browser to render a chart, and to encode its canvas.
+     */
+    private final Duration renderTimeout;
+
+    /**
+     * Creates a new renderer.
+     *
+     * @param browsers the pool of browsers used for server-side rendering of the charts
+     * @param encoders the encoders of the rendered charts
+     * @param configuration the configuration of the chart export
+     */
+    ChartRenderer(BrowserPool browsers,
+                  ImageEncoders encoders,
+                  ExportConfiguration configuration) {
+        this.browsers = browsers;
+        this.encoders = encoders;
+        this.saveImages = configuration.isSaveImages();
+        this.captureMode = configuration.getCapture();
+        this.renderTimeout = configuration.getRenderTimeout();
+    }
+
+    /**
+     * Renders the chart denoted by the passed key and encodes it into an image.
+     *
+     * <p>The image is obtained in the configured {@linkplain CaptureMode capture mode}.
+     *
+     * @param key the key of the chart to render
+     * @return the exported chart
+     * @throws IOException if an I/O error occurs during the encoding
+     */
+    ExportedChart render(ExportKey key) throws IOException {
+        return render(key, captureMode);
+    }
+
+    /**
+     * Renders the chart denoted by the passed key and encodes it into an image
+     * in the passed capture mode.
+     *
+     * <p>In the bitmap capture mode, the image is encoded into the buffers of
+     * the browser, and then copied to an array of the exact size, which outlives
+     * the buffer in the cache and in the response.
+     *
+     * <p>The {@linkplain ImageFormat#isVector() vector formats} are produced by
+     * the page in any capture mode, without reading back or encoding the pixels.
+     *
+     * @param key the key of the chart to render, which also tells the PNG compression
+     *         level at a {@linkplain RenderQuality#apply reduced quality}
+     * @param mode the way to obtain the image of the drawn chart
+     * @return the exported chart
+     * @throws IOException if an I/O error occurs during the encoding
+     */
+    ExportedChart render(ExportKey key, CaptureMode mode) throws IOException {
+        var format = key.format();
+        if (mode == CaptureMode.BITMAP && !format.isVector()) {
+            // Fail on an unsupported format before occupying a browser.
+            encoders.encoder(format);
+        }
+        try (var browser = browsers.acquire(key.dataset(), key.size())) {
+            return render(browser, key, mode);
+        }
+    }
+
+    /**
+     * Renders the chart denoted by the passed key in the passed browser.
+     *
+     * <p>This allows rendering the charts in a particular browser, such as when
+     * each browser of the pool is warmed up.
+     *
+     * @param browser the checked-out browser to render the chart in
+     * @param key the key of the chart to render
+     * @param mode the way to obtain the image of the drawn chart
+     * @return the exported chart
+     * @throws IOException if an I/O error occurs during the encoding
+     */
+    ExportedChart render(PooledBrowser browser, ExportKey key, CaptureMode mode)
+            throws IOException {
+        var format = key.format();
+        byte[] bytes;
+        if (format.isVector()) {
+            bytes = drawVector(browser, key);
+        } else if (mode == CaptureMode.BITMAP) {
+            var image = draw(browser, key.dataset(), key.params(), key.size());
+            bytes = encodeBytes(encoders.encoder(key), image, browser.imageBuffers());
+        } else {
+            var page = browser.page();
+            page.draw(key.dataset(), key.params(), key.size(), renderTimeout);
+            bytes = page.encodeCanvas(
+                    key.dataset(), format, encoders.quality(format), renderTimeout
+            );
+        }
+        if (saveImages) {
+            var fileName = key.dataset()
+                              .id() + '.' + key.format()
+                                               .extension();
+            Files.write(browser.imagesDir()
+                               .resolve(fileName), bytes);
+        }
+        return ExportedChart.of(bytes, key.format());
+    }
+
+    /**
+     * Encodes the image of the chart captured in the bitmap capture mode.
+     *
+     * <p>This allows encoding the image after the browser that has rendered it
+     * is returned to the pool, and so drawing the next chart in the meantime.
+     *
+     * @param key the key of the chart
+     * @param image the captured image of the chart
+     * @param buffers the buffers to encode the image with
+     * @return the exported chart
+     * @throws IOException if an I/O error occurs during the encoding
+     */
+    ExportedChart encode(ExportKey key, BgraImage image, ImageBuffers buffers)
+            throws IOException {
+        var bytes = encodeBytes(encoders.encoder(key), image, buffers);
+        return ExportedChart.of(bytes, key.format());
+    }
+
+    /**
+     * Returns the way the images of the drawn charts are obtained from the browsers.
+     */
+    CaptureMode captureMode() {
+        return captureMode;
+    }
+
+    /**
+     * Renders the chart and returns its image without encoding it.
+     *
+     * @param dataset the data upon which the chart is based
+     * @param params the canonical chart parameters
+     * @param size the size of the chart
+     * @return the rendered image
+     */
+    BgraImage capture(Dataset dataset, String params, ChartSize size) {
+        try (var browser = browsers.acquire(dataset, size)) {
+            return draw(browser, dataset, params, size);
+        }
+    }
+
+    /**
+     * Renders several charts of the same size in one browser frame and returns
+     * their images without encoding them.
+     *
+     * <p>The charts are drawn in a grid on the page, and the browser's bitmap is
+     * captured once and sliced into the images of the charts. This spares a frame
+     * and a bitmap read-back per chart, which dominate the rendering of small charts.
+     * A single chart is drawn as usual.
+     *
+     * @param charts the keys of the charts to render; their formats are ignored
+     * @return the rendered images in the order of the keys, backed by the same bitmap
+     * @throws IllegalArgumentException if the charts differ in size, or do not fit
+     *         into an {@linkplain AtlasLayout#capacity(ChartSize) atlas}
+     */
+    List<BgraImage> captureAtlas(List<ExportKey> charts) {
+        var size = charts.get(0)
+                         .size();
+        if (charts.stream()
+                  .anyMatch(chart -> !chart.size()
+                                           .equals(size))) {
+            throw new IllegalArgumentException("The charts of an atlas must be of the same size.");
+        }
+        if (charts.size() == 1) {
+            var chart = charts.get(0);
+            return List.of(capture(chart.dataset(), chart.params(), size));
+        }
+        var layout = AtlasLayout.of(size, charts.size());
+        try (var browser = browsers.acquire()) {
+            browser.page()
+                   .drawAtlas(charts, layout, renderTimeout);
+            var bitmap = browser.browser()
+                                .bitmap();
+            return BitmapConverter.slice(BgraImage.of(bitmap), layout);
+        }
+    }
+
+    /**
+     * Encodes the image into the passed buffers, and then copies it to an array
+     * of the exact size.
+     */
+    private static byte[] encodeBytes(ImageEncoder encoder, BgraImage image, ImageBuffers buffers)
+            throws IOException {
+        var output = buffers.stream(ENCODED_IMAGE, INITIAL_ENCODED_SIZE);
+        encoder.encode(image, buffers, output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Draws the chart as SVG and, if PDF is requested, prints the drawn SVG to PDF.
+     */
+    private byte[] drawVector(PooledBrowser browser, ExportKey key) throws IOException {
+        var page = browser.page();
+        var svg = page.drawSvg(key.dataset(), key.params(), key.size(), renderTimeout);
+        return key.format() == ImageFormat.PDF ? page.printPdf(renderTimeout) : svg;
+    }
+
+    /**
+     * Draws the chart and returns the region of the browser's bitmap
+     * that contains it.
+     */
+    private BgraImage draw(PooledBrowser browser, Dataset dataset, String params, ChartSize size) {
+        browser.page()
+               .draw(dataset, params, size, renderTimeout);
+        var bitmap = browser.browser()
+                            .bitmap();
+        return BgraImage.of(bitmap)
+                        .crop(size.pixelWidth(), size.pixelHeight());
+    }
+}
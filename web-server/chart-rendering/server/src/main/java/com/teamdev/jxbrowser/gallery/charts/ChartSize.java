@@ -0,0 +1,148 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * The size of an exported chart.
+ *
+ * <p>The chart is laid out in a box of {@code width} by {@code height} CSS pixels,
+ * and then scaled by {@code scale}, which acts as the device pixel ratio.
+ * So, the exported image is {@linkplain #pixelWidth() pixelWidth} by
+ * {@linkplain #pixelHeight() pixelHeight} pixels. A lower scale produces
+ * a smaller image of the same chart, and a higher one a sharper image.
+ *
+ * @param width the width of the chart in CSS pixels
+ * @param height the height of the chart in CSS pixels
+ * @param scale the ratio of the image pixels to the CSS pixels
+ */
+record ChartSize(int width, int height, double scale) {
+
+    /**
+     * The size of the exported charts, unless requested otherwise.
+     */
+    static final ChartSize DEFAULT = new ChartSize(1000, 500, 1.0);
+
+    /**
+     * The size of the chart thumbnails, unless requested otherwise.
+     */
+    static final ChartSize THUMBNAIL = new ChartSize(600, 300, 0.5);
+
+    /**
+     * The minimum width or height of a chart in CSS pixels.
+     */
+    private static final int MIN_SIZE = 100;
+
+    /**
+     * The maximum width or height of a chart in CSS pixels.
+     */
+    private static final int MAX_SIZE = 4096;
+
+    /**
+     * The minimum scale of a chart.
+     */
+    private static final double MIN_SCALE = 0.25;
+
+    /**
+     * The maximum scale of a chart.
+     */
+    private static final double MAX_SCALE = 4.0;
+
+    /**
+     * The maximum number of pixels in an exported image.
+     */
+    private static final long MAX_PIXELS = 4096L * 4096L;
+
+    /**
+     * Validates the size.
+     *
+     * @throws IllegalArgumentException if the size is out of the supported bounds
+     */
+    ChartSize {
+        checkBounds("width", width);
+        checkBounds("height", height);
+        if (!(scale >= MIN_SCALE && scale <= MAX_SCALE)) {
+            throw new IllegalArgumentException(
+                    "The scale must be from %s to %s.".formatted(MIN_SCALE, MAX_SCALE)
+            );
+        }
+        if ((long) pixels(width, scale) * pixels(height, scale) > MAX_PIXELS) {
+            throw new IllegalArgumentException(
+                    "The image must not exceed %d pixels.".formatted(MAX_PIXELS)
+            );
+        }
+    }
+
+    /**
+     * Creates the size of a chart from the requested values, taking the omitted
+     * ones from the passed defaults.
+     *
+     * @param width the requested width in CSS pixels, if any
+     * @param height the requested height in CSS pixels, if any
+     * @param scale the requested scale, if any
+     * @param defaults the size to take the omitted values from
+     * @return the chart size
+     * @throws IllegalArgumentException if the size is out of the supported bounds
+     */
+    static ChartSize of(@Nullable Integer width,
+                        @Nullable Integer height,
+                        @Nullable Double scale,
+                        ChartSize defaults) {
+        return new ChartSize(
+                width != null ? width : defaults.width(),
+                height != null ? height : defaults.height(),
+                scale != null ? scale : defaults.scale()
+        );
+    }
+
+    /**
+     * Returns the width of the exported image in pixels.
+     */
+    int pixelWidth() {
+        return pixels(width, scale);
+    }
+
+    /**
+     * Returns the height of the exported image in pixels.
+     */
+    int pixelHeight() {
+        return pixels(height, scale);
+    }
+
+    /**
+     * Converts the CSS pixels into the image pixels the way Chart.js sizes
+     * the canvas, rounding down.
+     */
+    private static int pixels(int cssPixels, double scale) {
+        return (int) Math.floor(cssPixels * scale);
+    }
+
+    private static void checkBounds(String name, int value) {
+        if (value < MIN_SIZE || value > MAX_SIZE) {
+            throw new IllegalArgumentException(
+                    "The %s must be from %d to %d.".formatted(name, MIN_SIZE, MAX_SIZE)
+            );
+        }
+    }
+}
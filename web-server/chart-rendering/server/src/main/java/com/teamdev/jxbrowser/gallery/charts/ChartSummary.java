@@ -0,0 +1,121 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import java.util.List;
+
+/**
+ * A utility for adding the summary of the drawn series to the chart parameters.
+ *
+ * <p>When the parameters have {@code showSummary} set, the chart shows the mean,
+ * the minimum and the maximum of the values of its {@code entity} over the years
+ * from {@code xMin} to {@code xMax}. The server takes them from the {@linkplain
+ * DatasetTable#aggregate aggregate index} of the dataset, and passes them to
+ * the drawing function as the {@code summary} parameter, just like the web client
+ * does with the response of the {@code /aggregate} endpoint.
+ */
+final class ChartSummary {
+
+    /**
+     * The parameter that tells whether to show the summary.
+     */
+    private static final String SHOW_SUMMARY = "showSummary";
+
+    /**
+     * The parameter holding the summary.
+     */
+    private static final String SUMMARY = "summary";
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private ChartSummary() {
+    }
+
+    /**
+     * Adds the summary to the passed parameters of a chart of the passed dataset,
+     * if it is requested.
+     *
+     * <p>The parameters without the entity, or with an unknown one, are returned as is,
+     * as the chart shows no values to summarize then.
+     *
+     * @param params the canonical chart parameters
+     * @param dataset the dataset of the chart
+     * @return the parameters to pass to the drawing function
+     */
+    static String addTo(String params, Dataset dataset) {
+        if (!params.contains(SHOW_SUMMARY)) {
+            return params;
+        }
+        var parsed = JsonParser.parseString(params)
+                               .getAsJsonObject();
+        var entity = parsed.get("entity");
+        if (!isTrue(parsed.get(SHOW_SUMMARY)) || !isString(entity)) {
+            return params;
+        }
+        var from = year(parsed.get("xMin"), Short.MIN_VALUE, true);
+        var to = year(parsed.get("xMax"), Short.MAX_VALUE, false);
+        try {
+            var summary = dataset.table()
+                                 .aggregate(entity.getAsString(), from, to, List.of());
+            parsed.add(SUMMARY, summary);
+            return parsed.toString();
+        } catch (IllegalArgumentException e) {
+            return params;
+        }
+    }
+
+    private static boolean isTrue(JsonElement value) {
+        return value != null
+                && value.isJsonPrimitive()
+                && value.getAsJsonPrimitive()
+                        .isBoolean()
+                && value.getAsBoolean();
+    }
+
+    private static boolean isString(JsonElement value) {
+        return value != null
+                && value.isJsonPrimitive()
+                && value.getAsJsonPrimitive()
+                        .isString();
+    }
+
+    /**
+     * Returns the whole year within the passed axis bound, or the passed default
+     * if there is no bound.
+     */
+    private static int year(JsonElement bound, int defaultYear, boolean lower) {
+        if (bound == null
+                || !bound.isJsonPrimitive()
+                || !bound.getAsJsonPrimitive()
+                         .isNumber()) {
+            return defaultYear;
+        }
+        var value = bound.getAsDouble();
+        var year = lower ? Math.ceil(value) : Math.floor(value);
+        return (int) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, year));
+    }
+}
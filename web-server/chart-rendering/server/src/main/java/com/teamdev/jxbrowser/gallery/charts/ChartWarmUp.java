@@ -0,0 +1,279 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.management.health.indicator.HealthIndicator;
+import io.micronaut.management.health.indicator.HealthResult;
+import io.micronaut.management.health.indicator.annotation.Readiness;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Warms up the browsers of the pool once the server starts, and reports
+ * the readiness of the server only after that.
+ *
+ * <p>Even though the browsers load the {@link ChartPage} when created, the first
+ * exports are much slower than the following ones. They pay for the JIT compilation
+ * of the server code and of the chart-drawing script, for the first paint of
+ * the charts, and for the first use of the encoders. So, every browser renders
+ * each {@link Dataset} with the default parameters several times, in parallel
+ * with the other browsers. Until this is done, the readiness endpoint reports
+ * the server {@code DOWN}, and a load balancer keeps the traffic away from it.
+ *
+ * <p>Once warmed up, the server logs the time it took, along with the time from
+ * the JVM start, which is the time to the first fast export. The latter is also
+ * exposed as the {@code charts.warm-up.ready.time} metric.
+ *
+ * <p>In the training run, the {@linkplain Application#main application} exits once
+ * the server is warmed up and shut down. The classes loaded
+ * in such a run make up the class data sharing archive, which shortens
+ * the startup of the following runs.
+ */
+@Singleton
+@Readiness
+final class ChartWarmUp implements HealthIndicator {
+
+    /**
+     * The name of this indicator in the health report.
+     */
+    private static final String NAME = "chartWarmUp";
+
+    /**
+     * The logger of the warm-up results.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChartWarmUp.class);
+
+    /**
+     * The pool of the browsers to warm up.
+     */
+    private final BrowserPool browsers;
+
+    /**
+     * The renderer of the warm-up charts.
+     */
+    private final ChartRenderer renderer;
+
+    /**
+     * The number of browsers in the pool.
+     */
+    private final int browserCount;
+
+    /**
+     * The configuration of the warm-up.
+     */
+    private final WarmUpConfiguration configuration;
+
+    /**
+     * The current state of the warm-up.
+     */
+    private volatile State state;
+
+    /**
+     * The time from the JVM start until the server is warmed up, in milliseconds.
+     */
+    private volatile long readyTime = -1;
+
+    /**
+     * Completes with whether the browsers are warmed up, once the warm-up finishes.
+     */
+    private final CompletableFuture<Boolean> done = new CompletableFuture<>();
+
+    /**
+     * Creates a new instance and registers its metrics.
+     *
+     * @param browsers the pool of the browsers to warm up
+     * @param renderer the renderer of the warm-up charts
+     * @param poolConfiguration the configuration of the browser pool
+     * @param configuration the configuration of the warm-up
+     * @param registry the registry of the application metrics
+     */
+    ChartWarmUp(BrowserPool browsers,
+                ChartRenderer renderer,
+                BrowserPoolConfiguration poolConfiguration,
+                WarmUpConfiguration configuration,
+                MeterRegistry registry) {
+        this.browsers = browsers;
+        this.renderer = renderer;
+        this.browserCount = poolConfiguration.getSize();
+        this.configuration = configuration;
+        this.state = configuration.isEnabled() ? State.WARMING_UP : State.READY;
+        if (state == State.READY) {
+            done.complete(true);
+        }
+        Gauge.builder("charts.warm-up.ready.time", this, warmUp -> warmUp.readyTime)
+             .baseUnit("milliseconds")
+             .register(registry);
+    }
+
+    /**
+     * Starts warming up the browsers, unless disabled.
+     */
+    @EventListener
+    void onStartup(StartupEvent event) {
+        if (state != State.WARMING_UP) {
+            return;
+        }
+        var started = System.nanoTime();
+        var executor = Executors.newFixedThreadPool(
+                browserCount, new DaemonThreadFactory("warm-up")
+        );
+        var warmUps = IntStream.range(0, browserCount)
+                               .mapToObj(i -> CompletableFuture.supplyAsync(
+                                       this::warmUpBrowser, executor
+                               ))
+                               .toList();
+        CompletableFuture.allOf(warmUps.toArray(CompletableFuture[]::new))
+                         .whenComplete((ignored, error) -> {
+                             executor.shutdown();
+                             var elapsed = System.nanoTime() - started;
+                             finish(warmUps, error, TimeUnit.NANOSECONDS.toMillis(elapsed));
+                         });
+    }
+
+    /**
+     * Renders every chart several times in one of the browsers.
+     *
+     * <p>Each task holds its browser until done, so that all the browsers
+     * of the pool are warmed up.
+     *
+     * @return the time of the first and the last rendering of all the charts
+     */
+    private Timings warmUpBrowser() {
+        var keys = Arrays.stream(Dataset.values())
+                         .map(dataset -> new ExportKey(
+                                 dataset, ChartParams.canonicalize("{}"), ImageFormat.PNG,
+                                 ChartSize.DEFAULT
+                         ))
+                         .toList();
+        try (var browser = browsers.acquire()) {
+            var first = 0L;
+            var last = 0L;
+            for (var round = 0; round < configuration.getRounds(); round++) {
+                var started = System.nanoTime();
+                for (var key : keys) {
+                    renderer.render(browser, key, renderer.captureMode());
+                }
+                last = System.nanoTime() - started;
+                if (round == 0) {
+                    first = last;
+                }
+            }
+            return new Timings(first, last);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Waits for the warm-up to finish.
+     *
+     * @return {@code true} if the browsers are warmed up, {@code false} if the warm-up
+     *         has failed
+     */
+    boolean awaitDone() {
+        return done.join();
+    }
+
+    /**
+     * Reports the results of the warm-up.
+     */
+    private void finish(List<CompletableFuture<Timings>> warmUps,
+                        Throwable error,
+                        long elapsedMillis) {
+        if (error != null) {
+            state = State.FAILED;
+            LOGGER.error("Unable to warm up the chart rendering.", error);
+        } else {
+            readyTime = ManagementFactory.getRuntimeMXBean()
+                                         .getUptime();
+            var timings = warmUps.stream()
+                                 .map(CompletableFuture::join)
+                                 .toList();
+            var first = timings.stream()
+                               .mapToLong(Timings::first)
+                               .max()
+                               .orElse(0);
+            var last = timings.stream()
+                              .mapToLong(Timings::last)
+                              .max()
+                              .orElse(0);
+            state = State.READY;
+            LOGGER.info("Warmed up {} browsers in {} ms. Rendering all the charts took {} ms"
+                                + " at first and {} ms in the end. The first fast export"
+                                + " is available {} ms after the JVM start.",
+                        browserCount, elapsedMillis,
+                        TimeUnit.NANOSECONDS.toMillis(first),
+                        TimeUnit.NANOSECONDS.toMillis(last),
+                        readyTime);
+        }
+        done.complete(error == null);
+    }
+
+    @Override
+    public Publisher<HealthResult> getResult() {
+        var status = state == State.READY ? HealthStatus.UP : HealthStatus.DOWN;
+        var result = HealthResult.builder(NAME, status)
+                                 .details(Map.of("state", state.name()
+                                                               .toLowerCase(Locale.ROOT)))
+                                 .build();
+        return Publishers.just(result);
+    }
+
+    /**
+     * The state of the warm-up.
+     */
+    private enum State {
+        WARMING_UP,
+        READY,
+        FAILED
+    }
+
+    /**
+     * The time of the first and the last rendering of all the charts in a browser.
+     *
+     * @param first the time of the first rendering in nanoseconds
+     * @param last the time of the last rendering in nanoseconds
+     */
+    private record Timings(long first, long last) {
+    }
+}
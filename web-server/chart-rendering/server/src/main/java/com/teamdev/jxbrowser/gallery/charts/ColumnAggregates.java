@@ -0,0 +1,152 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * An index of a value column for aggregating its values over a range of rows
+ * in constant time.
+ *
+ * <p>The sum and the number of the present values are taken as the difference of
+ * two prefix sums. The minimum and the maximum are taken from sparse tables, which
+ * hold them for every range of a power-of-two length: any range is covered by two
+ * such ranges, overlapping if necessary.
+ *
+ * <p>The sparse tables are built only up to the length of the longest range that is
+ * ever aggregated, such as the rows of a single entity, which keeps them small.
+ * The missing values, being {@link Double#NaN}, are skipped.
+ */
+final class ColumnAggregates {
+
+    /**
+     * The sums of the present values of the rows before each row, and of all the rows.
+     */
+    private final double[] prefixSums;
+
+    /**
+     * The numbers of the present values of the rows before each row, and of all the rows.
+     */
+    private final int[] prefixCounts;
+
+    /**
+     * The minimums of the ranges of {@code 2^level} rows starting at each row, by level.
+     */
+    private final double[][] minTable;
+
+    /**
+     * The maximums of the ranges of {@code 2^level} rows starting at each row, by level.
+     */
+    private final double[][] maxTable;
+
+    /**
+     * Builds the index of the passed column.
+     *
+     * @param values the values of the column, with {@code NaN} for the missing ones
+     * @param maxRange the length of the longest range of rows to aggregate
+     */
+    ColumnAggregates(double[] values, int maxRange) {
+        var rows = values.length;
+        this.prefixSums = new double[rows + 1];
+        this.prefixCounts = new int[rows + 1];
+        for (var row = 0; row < rows; row++) {
+            var present = !Double.isNaN(values[row]);
+            prefixSums[row + 1] = prefixSums[row] + (present ? values[row] : 0);
+            prefixCounts[row + 1] = prefixCounts[row] + (present ? 1 : 0);
+        }
+        var levels = level(Math.max(1, Math.min(maxRange, rows))) + 1;
+        this.minTable = sparseTable(values, levels, Math::min, Double.POSITIVE_INFINITY);
+        this.maxTable = sparseTable(values, levels, Math::max, Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Aggregates the present values of the passed range of rows.
+     *
+     * @param start the first row of the range, inclusive
+     * @param end the last row of the range, exclusive; the range may be longer than
+     *         the one the index is built for only if it is empty
+     * @return the aggregates of the range
+     */
+    Aggregate aggregate(int start, int end) {
+        var count = prefixCounts[end] - prefixCounts[start];
+        if (count == 0) {
+            return new Aggregate(0, 0, Double.NaN, Double.NaN);
+        }
+        var sum = prefixSums[end] - prefixSums[start];
+        var level = level(end - start);
+        var second = end - (1 << level);
+        var min = Math.min(minTable[level][start], minTable[level][second]);
+        var max = Math.max(maxTable[level][start], maxTable[level][second]);
+        return new Aggregate(count, sum, min, max);
+    }
+
+    /**
+     * Returns the largest level whose ranges fit into the passed number of rows.
+     */
+    private static int level(int rows) {
+        return 31 - Integer.numberOfLeadingZeros(rows);
+    }
+
+    /**
+     * Builds a sparse table of the passed values, with the missing values replaced
+     * by the identity of the passed operator.
+     */
+    private static double[][] sparseTable(double[] values,
+                                          int levels,
+                                          DoubleBinaryOperator operator,
+                                          double identity) {
+        var table = new double[levels][];
+        table[0] = new double[values.length];
+        for (var row = 0; row < values.length; row++) {
+            table[0][row] = Double.isNaN(values[row]) ? identity : values[row];
+        }
+        for (var level = 1; level < levels; level++) {
+            var half = 1 << (level - 1);
+            var previous = table[level - 1];
+            var current = new double[Math.max(0, values.length - 2 * half + 1)];
+            for (var row = 0; row < current.length; row++) {
+                current[row] = operator.applyAsDouble(previous[row], previous[row + half]);
+            }
+            table[level] = current;
+        }
+        return table;
+    }
+
+    /**
+     * The aggregates of the present values of a range of rows.
+     *
+     * @param count the number of the present values
+     * @param sum the sum of the present values
+     * @param min the minimum of the present values, or {@code NaN} if there are none
+     * @param max the maximum of the present values, or {@code NaN} if there are none
+     */
+    record Aggregate(int count, double sum, double min, double max) {
+
+        /**
+         * Returns the mean of the present values, or {@code NaN} if there are none.
+         */
+        double mean() {
+            return count == 0 ? Double.NaN : sum / count;
+        }
+    }
+}
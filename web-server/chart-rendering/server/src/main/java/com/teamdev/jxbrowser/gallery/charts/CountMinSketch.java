@@ -0,0 +1,136 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A count-min sketch, which estimates how many times each item has been added
+ * in a fixed amount of memory.
+ *
+ * <p>The sketch is a matrix of counters. Each row maps an item to one of its
+ * counters by a hash function of its own. An item is counted in its counter of
+ * each row, and its count is estimated as the smallest of them. The estimate
+ * never falls short of the true count, and exceeds it only by the collisions with
+ * other items, which are rare for the frequent items.
+ *
+ * <p>The items are passed as their 64-bit hashes. The two halves of a hash make up
+ * the hash functions of the rows by double hashing, so two items collide in every
+ * row only if their whole 64-bit hashes do.
+ *
+ * <p>The counters are updated conservatively, that is, only the ones below the new
+ * estimate are raised. This reduces the overestimation further.
+ *
+ * <p>The sketch is thread-safe and does not block. The concurrent updates of
+ * the same item may make its estimate fall short by the number of the racing ones.
+ */
+final class CountMinSketch {
+
+    /**
+     * The counters, row by row, a row per hash function.
+     */
+    private final AtomicLongArray counts;
+
+    /**
+     * The number of hash functions.
+     */
+    private final int depth;
+
+    /**
+     * The number of counters in a row.
+     */
+    private final int width;
+
+    /**
+     * Creates a new sketch.
+     *
+     * @param depth the number of hash functions
+     * @param width the number of counters per hash function
+     */
+    CountMinSketch(int depth, int width) {
+        this.counts = new AtomicLongArray(depth * width);
+        this.depth = depth;
+        this.width = width;
+    }
+
+    /**
+     * Counts the item once more.
+     *
+     * @param hash the 64-bit hash of the item
+     * @return the new estimate of the count of the item
+     */
+    long add(long hash) {
+        var estimate = estimate(hash) + 1;
+        for (var row = 0; row < depth; row++) {
+            counts.accumulateAndGet(index(hash, row), estimate, Math::max);
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns the estimate of how many times the item has been added.
+     *
+     * @param hash the 64-bit hash of the item
+     */
+    long estimate(long hash) {
+        var estimate = Long.MAX_VALUE;
+        for (var row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves all the counts, so that the recent items outweigh the old ones.
+     */
+    void halve() {
+        for (var i = 0; i < counts.length(); i++) {
+            counts.getAndUpdate(i, count -> count >>> 1);
+        }
+    }
+
+    /**
+     * Returns the index of the counter of the item in the passed row.
+     *
+     * <p>The hash functions are derived from the two halves of the item hash,
+     * as {@code h1 + row * h2}.
+     */
+    private int index(long hash, int row) {
+        var h1 = (int) hash;
+        var h2 = (int) (hash >>> 32) | 1;
+        return row * width + Math.floorMod(h1 + row * h2, width);
+    }
+
+    /**
+     * Spreads the bits of the 64-bit hash, as the finalizer of MurmurHash3 does.
+     */
+    static long mix(long hash) {
+        var h = hash;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
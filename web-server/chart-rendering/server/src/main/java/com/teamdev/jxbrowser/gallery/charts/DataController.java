@@ -22,15 +22,28 @@
 
 package com.teamdev.jxbrowser.gallery.charts;
 
+import com.google.gson.JsonArray;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.PathVariable;
 import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.exceptions.HttpStatusException;
 
+import java.util.List;
+import java.util.function.Supplier;
+
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
 import static io.micronaut.http.MediaType.TEXT_CSV;
 import static io.micronaut.http.MediaType.TEXT_JSON;
 
 /**
  * A controller that provides access to the datasets used within the application.
+ *
+ * <p>Besides the whole content of a dataset, it serves the series of a single entity,
+ * and their aggregates, queried from the {@linkplain DatasetTable columnar copy} of
+ * the dataset, so that a chart of one country or region does not need the rest of the data.
  */
 @Controller("/dataset")
 final class DataController {
@@ -78,4 +91,90 @@ final class DataController {
     String energyConsumptionBySourceData() {
         return Dataset.ENERGY_CONSUMPTION_BY_SOURCE.data();
     }
+
+    /**
+     * Returns the names of the entities of the dataset with the passed ID.
+     *
+     * @param id the ID of the dataset
+     * @return the JSON array of the entity names, in the order of the dataset
+     */
+    @Get("/{id}/entities")
+    @Produces(TEXT_JSON)
+    String entities(@PathVariable String id) {
+        return query(() -> {
+            var entities = new JsonArray();
+            Dataset.byId(id)
+                   .table()
+                   .entities()
+                   .forEach(entities::add);
+            return entities.toString();
+        });
+    }
+
+    /**
+     * Returns the values of the dataset with the passed ID for an entity over
+     * a span of years.
+     *
+     * @param id the ID of the dataset
+     * @param entity the name of the entity
+     * @param from the first year of the span, inclusive; unbounded if omitted
+     * @param to the last year of the span, inclusive; unbounded if omitted
+     * @param columns the names of the value columns to return; all of them if omitted
+     * @return the series in the JSON format, as described in {@link DatasetTable#series}
+     */
+    @Get("/{id}/series")
+    @Produces(TEXT_JSON)
+    String series(@PathVariable String id,
+                  @QueryValue String entity,
+                  @Nullable @QueryValue Integer from,
+                  @Nullable @QueryValue Integer to,
+                  @Nullable @QueryValue List<String> columns) {
+        return query(() -> Dataset.byId(id)
+                                  .table()
+                                  .series(entity,
+                                          from == null ? Short.MIN_VALUE : from,
+                                          to == null ? Short.MAX_VALUE : to,
+                                          columns == null ? List.of() : columns)
+                                  .toString());
+    }
+
+    /**
+     * Returns the aggregates of the values of the dataset with the passed ID for
+     * an entity over a span of years.
+     *
+     * @param id the ID of the dataset
+     * @param entity the name of the entity
+     * @param from the first year of the span, inclusive; unbounded if omitted
+     * @param to the last year of the span, inclusive; unbounded if omitted
+     * @param columns the names of the value columns to aggregate; all of them if omitted
+     * @return the aggregates in the JSON format, as described in
+     *         {@link DatasetTable#aggregate}
+     */
+    @Get("/{id}/aggregate")
+    @Produces(TEXT_JSON)
+    String aggregate(@PathVariable String id,
+                     @QueryValue String entity,
+                     @Nullable @QueryValue Integer from,
+                     @Nullable @QueryValue Integer to,
+                     @Nullable @QueryValue List<String> columns) {
+        return query(() -> Dataset.byId(id)
+                                  .table()
+                                  .aggregate(entity,
+                                             from == null ? Short.MIN_VALUE : from,
+                                             to == null ? Short.MAX_VALUE : to,
+                                             columns == null ? List.of() : columns)
+                                  .toString());
+    }
+
+    /**
+     * Runs the passed query, rejecting an unknown dataset, entity or column
+     * as a bad request.
+     */
+    private static String query(Supplier<String> query) {
+        try {
+            return query.get();
+        } catch (IllegalArgumentException e) {
+            throw new HttpStatusException(BAD_REQUEST, e.getMessage());
+        }
+    }
 }
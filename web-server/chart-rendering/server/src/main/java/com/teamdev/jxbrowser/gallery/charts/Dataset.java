@@ -25,14 +25,22 @@ package com.teamdev.jxbrowser.gallery.charts;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /**
  * An enumeration of datasets available to the application.
  */
 @SuppressWarnings("NonSerializableFieldInSerializableClass" /* OK for this enum. */)
 enum Dataset {
 
-    PER_CAPITA_ENERGY_USE("per-capita-energy-use.info.json"),
-    ENERGY_CONSUMPTION_BY_SOURCE("energy-consumption-by-source.info.json");
+    PER_CAPITA_ENERGY_USE(
+            "per-capita-energy-use.info.json", "window.drawPerCapitaEnergyUseChart"
+    ),
+    ENERGY_CONSUMPTION_BY_SOURCE(
+            "energy-consumption-by-source.info.json", "window.drawEnergyConsumptionBySourceChart"
+    );
 
     /**
      * The parsed dataset info.
@@ -40,22 +48,59 @@ enum Dataset {
     private final JsonObject info;
 
     /**
-     * The resource containing the dataset data.
+     * The content of the dataset.
+     */
+    private final String data;
+
+    /**
+     * The version of the dataset content.
+     */
+    private final String version;
+
+    /**
+     * The content of the dataset stored by columns.
      */
-    private final Resource data;
+    private final DatasetTable table;
+
+    /**
+     * The JavaScript function that draws the chart based on the dataset.
+     */
+    private final String drawFunction;
 
     /**
      * Initializes a new enum instance for the dataset denoted by the resource
      * with the passed name.
+     *
+     * @param resourceName the name of the resource containing the dataset info
+     * @param drawFunction the JavaScript function that draws the chart based on the dataset
      */
-    Dataset(String resourceName) {
+    Dataset(String resourceName, String drawFunction) {
         var infoResource = new Resource(resourceName);
         var infoContent = infoResource.contentAsString();
         this.info = JsonParser.parseString(infoContent)
                               .getAsJsonObject();
         var dataRef = info.get("dataRef")
                           .getAsString();
-        this.data = new Resource(dataRef);
+        this.data = new Resource(dataRef).contentAsString();
+        this.version = checksum(data);
+        this.table = DatasetTable.parse(data);
+        this.drawFunction = drawFunction;
+    }
+
+    /**
+     * Returns the dataset with the passed ID.
+     *
+     * @param id the ID of the dataset
+     * @return the dataset
+     * @throws IllegalArgumentException if there is no dataset with such an ID
+     */
+    static Dataset byId(String id) {
+        for (var dataset : values()) {
+            if (dataset.id().equals(id)) {
+                return dataset;
+            }
+        }
+        throw new IllegalArgumentException("Unknown dataset: `%s`.".formatted(id));
     }
 
     /**
@@ -76,6 +121,37 @@ enum Dataset {
      * Returns the content of the dataset in a form of a string.
      */
     String data() {
-        return data.contentAsString();
+        return data;
+    }
+
+    /**
+     * Returns the content of the dataset stored by columns, for querying
+     * the series of an entity.
+     */
+    DatasetTable table() {
+        return table;
+    }
+
+    /**
+     * Returns the version of the dataset content.
+     *
+     * <p>The version changes whenever the content does, so it can be used
+     * to tell whether a previously loaded copy of the data is up-to-date.
+     */
+    String version() {
+        return version;
+    }
+
+    /**
+     * Returns the JavaScript function that draws the chart based on the dataset.
+     */
+    String drawFunction() {
+        return drawFunction;
+    }
+
+    private static String checksum(String content) {
+        var crc = new CRC32();
+        crc.update(content.getBytes(UTF_8));
+        return Long.toHexString(crc.getValue());
     }
 }
@@ -0,0 +1,56 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import com.teamdev.jxbrowser.js.JsAccessible;
+
+/**
+ * Provides the content of the datasets to the JavaScript code of the {@link ChartPage}.
+ *
+ * <p>The page requests a dataset the first time a chart based on it is drawn,
+ * and then keeps the parsed data in memory. This way, each dataset is transferred
+ * to and parsed by a browser only once, rather than being inlined into
+ * every chart-drawing script.
+ *
+ * @implNote The class and its method are {@code public}, as JavaScript can only
+ * access the public members of public Java classes.
+ */
+public final class DatasetBridge {
+
+    /**
+     * The name of the JavaScript {@code window} property holding this object.
+     */
+    static final String PROPERTY_NAME = "javaDatasets";
+
+    /**
+     * Returns the content of the dataset with the passed ID.
+     *
+     * @param datasetId the ID of the dataset
+     * @return the dataset content in the CSV format
+     */
+    @JsAccessible
+    public String csv(String datasetId) {
+        return Dataset.byId(datasetId)
+                      .data();
+    }
+}
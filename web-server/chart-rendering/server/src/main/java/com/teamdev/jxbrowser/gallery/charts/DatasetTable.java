@@ -0,0 +1,410 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The content of a dataset, stored by columns for querying the series of an entity
+ * and their aggregates.
+ *
+ * <p>The dataset is a CSV table of the {@code Entity}, {@code Code} and {@code Year}
+ * columns followed by the numeric value columns, with no quoted fields. It is parsed
+ * once into primitive arrays:
+ * <ul>
+ *   <li>the entities are encoded as indices into a dictionary of their names and codes,
+ *       and, as the rows are ordered by the entity, stored as the ranges of their rows;
+ *   <li>the years are stored as {@code short}s;
+ *   <li>each value column is stored as {@code double}s, with the missing values being
+ *       {@link Double#NaN}.
+ * </ul>
+ *
+ * <p>The rows are ordered by the entity and then by the year, so the rows of an entity
+ * form a range. The rows of a span of years within it are looked up in constant time,
+ * in a table of the first row of every year from the first year of the entity to its
+ * last one. The values over the span are aggregated in constant time as well, by
+ * the {@linkplain ColumnAggregates index} of each column.
+ */
+final class DatasetTable {
+
+    /**
+     * The number of the leading columns that are not values:
+     * the entity, its code and the year.
+     */
+    private static final int KEY_COLUMNS = 3;
+
+    /**
+     * The names of the value columns.
+     */
+    private final List<String> columns;
+
+    /**
+     * The names of the entities, in the order of their first appearance in the data.
+     */
+    private final List<String> entities;
+
+    /**
+     * The indices of the entities by their names.
+     */
+    private final Map<String, Integer> entityIndices;
+
+    /**
+     * The codes of the entities, by the entity index.
+     */
+    private final String[] codes;
+
+    /**
+     * The first row of each entity, by the entity index, followed by the number of rows.
+     *
+     * <p>The rows of the entity {@code i} are from {@code entityStart[i]} inclusive
+     * to {@code entityStart[i + 1]} exclusive.
+     */
+    private final int[] entityStart;
+
+    /**
+     * The year of each row.
+     */
+    private final short[] years;
+
+    /**
+     * The values of each row, by the value column.
+     */
+    private final double[][] values;
+
+    /**
+     * The indices for aggregating the values, by the value column.
+     */
+    private final ColumnAggregates[] aggregates;
+
+    /**
+     * The first year of each entity, by the entity index.
+     */
+    private final int[] firstYears;
+
+    /**
+     * The position of the rows by year of each entity in {@link #yearRows},
+     * by the entity index, followed by the length of {@code yearRows}.
+     */
+    private final int[] yearRowsStart;
+
+    /**
+     * The first row of each year of each entity that is not earlier than the year,
+     * from the first year of the entity to its last one.
+     */
+    private final int[] yearRows;
+
+    private DatasetTable(List<String> columns,
+                         List<String> entities,
+                         String[] codes,
+                         int[] entityStart,
+                         short[] years,
+                         double[][] values) {
+        this.columns = List.copyOf(columns);
+        this.entities = List.copyOf(entities);
+        this.entityIndices = new HashMap<>();
+        for (var i = 0; i < entities.size(); i++) {
+            entityIndices.put(entities.get(i), i);
+        }
+        this.codes = codes;
+        this.entityStart = entityStart;
+        this.years = years;
+        this.values = values;
+        var longestEntity = 0;
+        for (var entity = 0; entity < entities.size(); entity++) {
+            longestEntity = Math.max(longestEntity, entityStart[entity + 1] - entityStart[entity]);
+        }
+        this.aggregates = new ColumnAggregates[values.length];
+        for (var column = 0; column < values.length; column++) {
+            aggregates[column] = new ColumnAggregates(values[column], longestEntity);
+        }
+        this.firstYears = new int[entities.size()];
+        this.yearRowsStart = new int[entities.size() + 1];
+        for (var entity = 0; entity < entities.size(); entity++) {
+            var start = entityStart[entity];
+            var end = entityStart[entity + 1];
+            firstYears[entity] = years[start];
+            yearRowsStart[entity + 1] = yearRowsStart[entity] + years[end - 1] - years[start] + 1;
+        }
+        this.yearRows = new int[yearRowsStart[entities.size()]];
+        for (var entity = 0; entity < entities.size(); entity++) {
+            var row = entityStart[entity];
+            for (var i = yearRowsStart[entity]; i < yearRowsStart[entity + 1]; i++) {
+                var year = firstYears[entity] + i - yearRowsStart[entity];
+                while (years[row] < year) {
+                    row++;
+                }
+                yearRows[i] = row;
+            }
+        }
+    }
+
+    /**
+     * Parses the passed dataset content.
+     *
+     * @param csv the dataset content in the CSV format
+     * @return the parsed table
+     * @throws IllegalArgumentException if the content is not a table of the expected form
+     */
+    static DatasetTable parse(String csv) {
+        var lines = csv.lines()
+                       .filter(line -> !line.isEmpty())
+                       .toList();
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("The dataset has no header.");
+        }
+        var header = lines.get(0)
+                          .split(",", -1);
+        if (header.length <= KEY_COLUMNS) {
+            throw new IllegalArgumentException("The dataset has no value columns.");
+        }
+        var columns = Arrays.asList(header)
+                            .subList(KEY_COLUMNS, header.length);
+        var rowCount = lines.size() - 1;
+        var entities = new ArrayList<String>();
+        var entityIndices = new HashMap<String, Integer>();
+        var codes = new ArrayList<String>();
+        var rowEntities = new int[rowCount];
+        var rowYears = new short[rowCount];
+        var rowValues = new double[columns.size()][rowCount];
+        for (var row = 0; row < rowCount; row++) {
+            var fields = lines.get(row + 1)
+                              .split(",", -1);
+            if (fields.length != header.length) {
+                throw new IllegalArgumentException(
+                        "The row %d has %d fields instead of %d.".formatted(
+                                row + 1, fields.length, header.length
+                        ));
+            }
+            var entity = entityIndices.computeIfAbsent(fields[0], name -> {
+                entities.add(name);
+                codes.add(fields[1]);
+                return entities.size() - 1;
+            });
+            rowEntities[row] = entity;
+            rowYears[row] = Short.parseShort(fields[2]);
+            for (var column = 0; column < columns.size(); column++) {
+                var value = fields[KEY_COLUMNS + column];
+                rowValues[column][row] = value.isEmpty() ? Double.NaN : Double.parseDouble(value);
+            }
+        }
+        var order = IntStream.range(0, rowCount)
+                             .boxed()
+                             .sorted(Comparator.<Integer>comparingInt(row -> rowEntities[row])
+                                               .thenComparingInt(row -> rowYears[row]))
+                             .mapToInt(Integer::intValue)
+                             .toArray();
+        var entityStart = new int[entities.size() + 1];
+        var years = new short[rowCount];
+        var values = new double[columns.size()][rowCount];
+        for (var row = 0; row < rowCount; row++) {
+            var source = order[row];
+            entityStart[rowEntities[source] + 1]++;
+            years[row] = rowYears[source];
+            for (var column = 0; column < columns.size(); column++) {
+                values[column][row] = rowValues[column][source];
+            }
+        }
+        for (var entity = 0; entity < entities.size(); entity++) {
+            entityStart[entity + 1] += entityStart[entity];
+        }
+        return new DatasetTable(columns, entities, codes.toArray(String[]::new),
+                                entityStart, years, values);
+    }
+
+    /**
+     * Returns the names of the value columns.
+     */
+    List<String> columns() {
+        return columns;
+    }
+
+    /**
+     * Returns the names of the entities, in the order of their first appearance
+     * in the data.
+     */
+    List<String> entities() {
+        return entities;
+    }
+
+    /**
+     * Returns the values of the passed columns for an entity over a span of years.
+     *
+     * <p>The series is a JSON object with the {@code entity} name, its {@code code},
+     * the {@code years} in ascending order, and the {@code columns} object holding
+     * an array of values per requested column, aligned with the years. The missing
+     * values are {@code null}s.
+     *
+     * @param entity the name of the entity
+     * @param from the first year of the span, inclusive
+     * @param to the last year of the span, inclusive
+     * @param columnNames the names of the value columns to return; if empty,
+     *         all the value columns are returned
+     * @return the series as a JSON object
+     * @throws IllegalArgumentException if there is no such entity or column
+     */
+    JsonObject series(String entity, int from, int to, List<String> columnNames) {
+        var index = entityIndex(entity);
+        var selected = columnNames.isEmpty() ? columns : columnNames;
+        var columnIndices = columnIndices(selected);
+        var start = firstRow(index, from);
+        var end = Math.max(start, firstRow(index, to + 1L));
+        var yearArray = new JsonArray(end - start);
+        for (var row = start; row < end; row++) {
+            yearArray.add(years[row]);
+        }
+        var columnObject = new JsonObject();
+        for (var i = 0; i < columnIndices.length; i++) {
+            var column = values[columnIndices[i]];
+            var valueArray = new JsonArray(end - start);
+            for (var row = start; row < end; row++) {
+                valueArray.add(number(column[row]));
+            }
+            columnObject.add(selected.get(i), valueArray);
+        }
+        var series = new JsonObject();
+        series.addProperty("entity", entity);
+        series.addProperty("code", codes[index]);
+        series.add("years", yearArray);
+        series.add("columns", columnObject);
+        return series;
+    }
+
+    /**
+     * Returns the aggregates of the passed columns for an entity over a span of years,
+     * in constant time.
+     *
+     * <p>The aggregates are a JSON object with the {@code entity} name, its {@code code},
+     * the first and the last year of the span that have rows as {@code from} and
+     * {@code to}, and the {@code columns} object holding the aggregates per requested
+     * column: the {@code count} of the present values, their {@code sum}, {@code mean},
+     * {@code min} and {@code max}. The missing values are skipped. If there are no
+     * values, the years, the mean, the minimum and the maximum are {@code null}s.
+     *
+     * @param entity the name of the entity
+     * @param from the first year of the span, inclusive
+     * @param to the last year of the span, inclusive
+     * @param columnNames the names of the value columns to aggregate; if empty,
+     *         all the value columns are aggregated
+     * @return the aggregates as a JSON object
+     * @throws IllegalArgumentException if there is no such entity or column
+     */
+    JsonObject aggregate(String entity, int from, int to, List<String> columnNames) {
+        var index = entityIndex(entity);
+        var selected = columnNames.isEmpty() ? columns : columnNames;
+        var columnIndices = columnIndices(selected);
+        var start = firstRow(index, from);
+        var end = Math.max(start, firstRow(index, to + 1L));
+        var columnObject = new JsonObject();
+        for (var i = 0; i < columnIndices.length; i++) {
+            var aggregate = aggregates[columnIndices[i]].aggregate(start, end);
+            var aggregateObject = new JsonObject();
+            aggregateObject.addProperty("count", aggregate.count());
+            aggregateObject.addProperty("sum", aggregate.sum());
+            aggregateObject.add("mean", number(aggregate.mean()));
+            aggregateObject.add("min", number(aggregate.min()));
+            aggregateObject.add("max", number(aggregate.max()));
+            columnObject.add(selected.get(i), aggregateObject);
+        }
+        var result = new JsonObject();
+        result.addProperty("entity", entity);
+        result.addProperty("code", codes[index]);
+        result.add("from", start < end ? new JsonPrimitive(years[start]) : JsonNull.INSTANCE);
+        result.add("to", start < end ? new JsonPrimitive(years[end - 1]) : JsonNull.INSTANCE);
+        result.add("columns", columnObject);
+        return result;
+    }
+
+    /**
+     * Returns the passed number as JSON, with {@code NaN} being {@code null}.
+     */
+    private static JsonElement number(double value) {
+        return Double.isNaN(value) ? JsonNull.INSTANCE : new JsonPrimitive(value);
+    }
+
+    /**
+     * Returns the index of the entity with the passed name.
+     *
+     * @throws IllegalArgumentException if there is no such entity
+     */
+    private int entityIndex(String entity) {
+        var index = entityIndices.get(entity);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown entity: `%s`.".formatted(entity));
+        }
+        return index;
+    }
+
+    /**
+     * Returns the indices of the value columns with the passed names.
+     *
+     * @throws IllegalArgumentException if there is no such column
+     */
+    private int[] columnIndices(List<String> names) {
+        return names.stream()
+                    .mapToInt(this::columnIndex)
+                    .toArray();
+    }
+
+    /**
+     * Returns the index of the value column with the passed name.
+     *
+     * @throws IllegalArgumentException if there is no such column
+     */
+    private int columnIndex(String name) {
+        var index = columns.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown column: `%s`.".formatted(name));
+        }
+        return index;
+    }
+
+    /**
+     * Finds the first row of the passed entity whose year is not earlier than
+     * the passed one.
+     *
+     * @return the found row, or the end of the rows of the entity if there is no such row
+     */
+    private int firstRow(int entity, long year) {
+        var offset = year - firstYears[entity];
+        if (offset <= 0) {
+            return entityStart[entity];
+        }
+        var yearCount = yearRowsStart[entity + 1] - yearRowsStart[entity];
+        if (offset >= yearCount) {
+            return entityStart[entity + 1];
+        }
+        return yearRows[yearRowsStart[entity] + (int) offset];
+    }
+}
@@ -0,0 +1,573 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A persistent cache of the exported charts, which outlives the server.
+ *
+ * <p>The encoded images are stored as files, named after the SHA-256 hash of
+ * everything the image depends on: the dataset and its version, the drawing
+ * function, the canonical chart parameters, the size, the compression, and the format. So, a stored
+ * image never goes stale, and the images of the updated datasets are just not
+ * requested anymore, until evicted.
+ *
+ * <p>The cache evicts the least recently used images once their total size exceeds
+ * the {@linkplain DiskCacheConfiguration#getMaxSize() configured limit}. The recency
+ * is kept in the modification time of the files, so it survives the restarts along
+ * with the images. When the server starts, the stored images are indexed on the
+ * writing thread, so the startup does not wait for it. Once indexed, the popular
+ * charts are served from the disk, instead of being rendered again. The sizes of
+ * the files, along with the entity tags, count towards the limit.
+ *
+ * <p>An image is written to a temporary file and then atomically moved in place, so
+ * a reader never sees a partial image, even if the server stops in the middle.
+ * The images are written in the background, and the writes are dropped if the disk
+ * falls behind. The images are read in the background as well, so that the lookups
+ * never block the HTTP server threads. An image is read via a {@link FileChannel}
+ * straight into an array of its size.
+ *
+ * <p>A file starts with the entity tag of the image on a line of its own, so that
+ * the tag is not computed again from the image content on every read. The recency
+ * of the read files is written to their modification time periodically, rather than
+ * on every read.
+ *
+ * <p>The cache exposes the following metrics:
+ * <ul>
+ *   <li>{@code charts.export.disk-cache.hits} and {@code charts.export.disk-cache.misses},
+ *       the number of lookups that found and did not find the chart;
+ *   <li>{@code charts.export.disk-cache.evictions}, the number of evicted charts;
+ *   <li>{@code charts.export.disk-cache.size}, the total size of the stored images.
+ * </ul>
+ */
+@Singleton
+final class DiskCache {
+
+    /**
+     * The version of the layout of the stored images, hashed along with the keys.
+     */
+    private static final String LAYOUT_VERSION = "2";
+
+    /**
+     * The maximum length of the line holding the entity tag of the image.
+     */
+    private static final int MAX_HEADER_LENGTH = 128;
+
+    /**
+     * The number of threads reading the images.
+     */
+    private static final int READERS = 4;
+
+    /**
+     * How often the modification time of the read files is updated, in seconds.
+     */
+    private static final long TOUCH_PERIOD = 60;
+
+    /**
+     * The suffix of the files the images are written to before moved in place.
+     */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * The maximum number of the images waiting to be written.
+     */
+    private static final int MAX_PENDING_WRITES = 256;
+
+    /**
+     * The logger of the failed reads and writes.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiskCache.class);
+
+    /**
+     * The names of the stored files along with their sizes, in the order from
+     * the least to the most recently used.
+     */
+    private final LinkedHashMap<String, Long> files = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Whether the exported charts are stored on disk.
+     */
+    private final boolean enabled;
+
+    /**
+     * The directory the exported charts are stored in.
+     */
+    private final Path directory;
+
+    /**
+     * The maximum total size of the stored images in bytes.
+     */
+    private final long maxSize;
+
+    /**
+     * The total size of the stored images in bytes.
+     */
+    private long size;
+
+    /**
+     * The executor writing the images.
+     */
+    private final ThreadPoolExecutor writer;
+
+    /**
+     * The executor reading the images.
+     */
+    private final ExecutorService readers =
+            Executors.newFixedThreadPool(READERS, new DaemonThreadFactory("disk-cache-reader"));
+
+    /**
+     * The executor updating the modification time of the read files.
+     */
+    private final ScheduledExecutorService toucher = Executors.newSingleThreadScheduledExecutor(
+            new DaemonThreadFactory("disk-cache-toucher")
+    );
+
+    /**
+     * The names of the files read since their modification time was last updated.
+     */
+    private final Set<String> touched = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The number of lookups that found the chart.
+     */
+    private final Counter hits;
+
+    /**
+     * The number of lookups that did not find the chart.
+     */
+    private final Counter misses;
+
+    /**
+     * The number of charts evicted from the cache.
+     */
+    private final Counter evictions;
+
+    /**
+     * Creates a new cache, starts indexing the stored images, and registers the metrics.
+     *
+     * @param configuration the configuration of the cache
+     * @param registry the registry of the application metrics
+     */
+    DiskCache(DiskCacheConfiguration configuration, MeterRegistry registry) {
+        this.enabled = configuration.isEnabled();
+        this.directory = configuration.getDirectory();
+        this.maxSize = configuration.getMaxSize();
+        this.writer = new ThreadPoolExecutor(
+                1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_PENDING_WRITES),
+                new DaemonThreadFactory("disk-cache-writer"),
+                new ThreadPoolExecutor.DiscardPolicy()
+        );
+        this.hits = registry.counter("charts.export.disk-cache.hits");
+        this.misses = registry.counter("charts.export.disk-cache.misses");
+        this.evictions = registry.counter("charts.export.disk-cache.evictions");
+        Gauge.builder("charts.export.disk-cache.size", this, DiskCache::size)
+             .baseUnit("bytes")
+             .register(registry);
+        if (enabled) {
+            writer.execute(this::index);
+            toucher.scheduleWithFixedDelay(this::touch, TOUCH_PERIOD, TOUCH_PERIOD,
+                                           TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Looks up the previously exported chart with the passed key.
+     *
+     * <p>A chart missing from the index is reported right away. A stored one
+     * is read in the background.
+     *
+     * @return the future of the stored chart, or of an empty optional if it
+     *         is not stored
+     */
+    CompletableFuture<Optional<ExportedChart>> get(ExportKey key) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        var name = fileName(key);
+        boolean stored;
+        synchronized (this) {
+            stored = files.get(name) != null;
+        }
+        if (!stored) {
+            misses.increment();
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return CompletableFuture.supplyAsync(() -> read(name, key.format()), readers);
+    }
+
+    /**
+     * Reads the stored chart from the file with the passed name.
+     */
+    private Optional<ExportedChart> read(String name, ImageFormat format) {
+        var file = path(name);
+        try {
+            var chart = read(file, format);
+            touched.add(name);
+            hits.increment();
+            return Optional.of(chart);
+        } catch (NoSuchFileException e) {
+            forget(name);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read the cached chart `{}`.", file, e);
+            forget(name);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Updates the modification time of the files read since the last update,
+     * so that their recency survives the restarts.
+     */
+    private void touch() {
+        var now = FileTime.fromMillis(System.currentTimeMillis());
+        for (var name : List.copyOf(touched)) {
+            touched.remove(name);
+            try {
+                Files.setLastModifiedTime(path(name), now);
+            } catch (NoSuchFileException e) {
+                // Evicted in the meantime.
+            } catch (IOException e) {
+                LOGGER.warn("Unable to touch the cached chart `{}`.", path(name), e);
+            }
+        }
+    }
+
+    /**
+     * Tells whether the chart with the passed key is stored, without reading it.
+     */
+    boolean contains(ExportKey key) {
+        if (!enabled) {
+            return false;
+        }
+        var name = fileName(key);
+        synchronized (this) {
+            return files.containsKey(name);
+        }
+    }
+
+    /**
+     * Stores the exported chart under the passed key in the background, evicting
+     * the least recently used charts if the size limit is exceeded.
+     */
+    void put(ExportKey key, ExportedChart chart) {
+        if (!enabled || chart.size() > maxSize) {
+            return;
+        }
+        var name = fileName(key);
+        writer.execute(() -> write(name, chart));
+    }
+
+    /**
+     * Writes the image along with its entity tag to the file with the passed name,
+     * unless it is stored already.
+     */
+    private void write(String name, ExportedChart chart) {
+        synchronized (this) {
+            if (files.containsKey(name)) {
+                return;
+            }
+        }
+        var file = path(name);
+        var etagLine = header(chart);
+        Path temp = null;
+        try {
+            var dir = Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(dir, name, TEMP_SUFFIX);
+            try (var channel = FileChannel.open(temp, WRITE)) {
+                var header = ByteBuffer.wrap(etagLine);
+                var image = ByteBuffer.wrap(chart.bytes());
+                while (header.hasRemaining() || image.hasRemaining()) {
+                    channel.write(new ByteBuffer[]{header, image});
+                }
+            }
+            Files.move(temp, file, ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to store the chart `{}`.", file, e);
+            deleteQuietly(temp);
+            return;
+        }
+        for (var evicted : add(name, etagLine.length + (long) chart.size())) {
+            deleteQuietly(path(evicted));
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Returns the line holding the entity tag of the image, which the file starts with.
+     */
+    private static byte[] header(ExportedChart chart) {
+        return (chart.etag() + '\n').getBytes(US_ASCII);
+    }
+
+    /**
+     * Adds the stored file to the index, and removes the least recently used
+     * files from it while the size limit is exceeded.
+     *
+     * @param name the name of the file
+     * @param fileSize the size of the file, including the entity tag
+     * @return the names of the evicted files
+     */
+    private synchronized List<String> add(String name, long fileSize) {
+        var previous = files.put(name, fileSize);
+        if (previous != null) {
+            size -= previous;
+        }
+        size += fileSize;
+        var evicted = new ArrayList<String>();
+        var iterator = files.entrySet()
+                            .iterator();
+        while (size > maxSize) {
+            var eldest = iterator.next();
+            iterator.remove();
+            size -= eldest.getValue();
+            evicted.add(eldest.getKey());
+        }
+        return evicted;
+    }
+
+    /**
+     * Removes the file that cannot be read from the index.
+     */
+    private synchronized void forget(String name) {
+        var fileSize = files.remove(name);
+        if (fileSize != null) {
+            size -= fileSize;
+        }
+    }
+
+    /**
+     * Indexes the stored images from the least to the most recently used, and
+     * deletes the temporary files of the writes interrupted by a stop.
+     */
+    private void index() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<StoredFile> stored;
+        try (var paths = Files.walk(directory, 2)) {
+            stored = paths.filter(Files::isRegularFile)
+                          .map(DiskCache::stored)
+                          .toList();
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.warn("Unable to index the chart cache `{}`.", directory, e);
+            return;
+        }
+        stored.stream()
+              .filter(file -> file.path()
+                                  .toString()
+                                  .endsWith(TEMP_SUFFIX))
+              .forEach(file -> deleteQuietly(file.path()));
+        stored.stream()
+              .filter(file -> !file.path()
+                                   .toString()
+                                   .endsWith(TEMP_SUFFIX))
+              .sorted(Comparator.comparing(StoredFile::lastUsed))
+              .forEach(file -> {
+                  var name = file.path()
+                                 .getFileName()
+                                 .toString();
+                  add(name, file.size()).forEach(evicted -> deleteQuietly(path(evicted)));
+              });
+    }
+
+    /**
+     * Returns the path of the file with the passed name.
+     *
+     * <p>The files are spread over subdirectories by the first two characters
+     * of their names, so that no directory grows too large.
+     */
+    private Path path(String name) {
+        return directory.resolve(name.substring(0, 2))
+                        .resolve(name);
+    }
+
+    private synchronized double size() {
+        return size;
+    }
+
+    /**
+     * Returns the name of the file the chart with the passed key is stored in.
+     */
+    private static String fileName(ExportKey key) {
+        var dataset = key.dataset();
+        var size = key.size();
+        var source = String.join("\n",
+                                 LAYOUT_VERSION,
+                                 dataset.id(),
+                                 dataset.version(),
+                                 dataset.drawFunction(),
+                                 key.params(),
+                                 Integer.toString(size.width()),
+                                 Integer.toString(size.height()),
+                                 Double.toString(size.scale()),
+                                 key.pngCompressionLevel()
+                                    .toString(),
+                                 key.format()
+                                    .extension());
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                                      .digest(source.getBytes(UTF_8));
+            return HexFormat.of()
+                            .formatHex(digest) + '.' + key.format()
+                                                         .extension();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported.", e);
+        }
+    }
+
+    /**
+     * Reads the entity tag from the first line of the file, and the rest of
+     * the file via a channel into an array of its size.
+     */
+    private static ExportedChart read(Path file, ImageFormat format) throws IOException {
+        try (var channel = FileChannel.open(file, READ)) {
+            var header = ByteBuffer.allocate(MAX_HEADER_LENGTH);
+            readFully(channel, header, file, false);
+            var headerLength = -1;
+            for (var i = 0; i < header.position(); i++) {
+                if (header.get(i) == '\n') {
+                    headerLength = i + 1;
+                    break;
+                }
+            }
+            if (headerLength < 0) {
+                throw new IOException("The file has no entity tag: `%s`.".formatted(file));
+            }
+            var etag = new String(header.array(), 0, headerLength - 1, US_ASCII);
+            var imageSize = channel.size() - headerLength;
+            if (imageSize > Integer.MAX_VALUE) {
+                throw new IOException("The file is too large: `%s`.".formatted(file));
+            }
+            var bytes = new byte[(int) imageSize];
+            channel.position(headerLength);
+            readFully(channel, ByteBuffer.wrap(bytes), file, true);
+            return new ExportedChart(bytes, format, etag);
+        }
+    }
+
+    /**
+     * Reads the file until the passed buffer is full or, unless the whole buffer
+     * is required, the file ends.
+     */
+    private static void readFully(FileChannel channel,
+                                  ByteBuffer buffer,
+                                  Path file,
+                                  boolean required) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                if (required) {
+                    throw new EOFException("The file is truncated: `%s`.".formatted(file));
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the size and the last use time of the stored file.
+     */
+    private static StoredFile stored(Path file) {
+        try {
+            return new StoredFile(file, Files.size(file), Files.getLastModifiedTime(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to delete the cached chart `{}`.", file, e);
+        }
+    }
+
+    /**
+     * Stops reading and writing the images, and updates the modification time
+     * of the files read since the last update.
+     *
+     * <p>The images waiting to be written are dropped.
+     */
+    @PreDestroy
+    void close() {
+        writer.shutdownNow();
+        readers.shutdownNow();
+        toucher.shutdownNow();
+        touch();
+    }
+
+    /**
+     * A file found in the cache directory.
+     *
+     * @param path the path to the file
+     * @param size the size of the file in bytes
+     * @param lastUsed the time the file was last written or read
+     */
+    private record StoredFile(Path path, long size, FileTime lastUsed) {
+    }
+}
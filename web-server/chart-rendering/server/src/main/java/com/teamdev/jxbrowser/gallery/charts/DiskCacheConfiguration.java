@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.convert.format.ReadableBytes;
+
+import java.nio.file.Path;
+
+/**
+ * The configuration of the {@link DiskCache}.
+ *
+ * <p>The values are read from the {@code charts.export.disk-cache} section
+ * of {@code application.yml}.
+ */
+@ConfigurationProperties("charts.export.disk-cache")
+final class DiskCacheConfiguration {
+
+    /**
+     * Whether the exported charts are stored on disk.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The directory the exported charts are stored in.
+     */
+    private Path directory = Path.of("cache");
+
+    /**
+     * The maximum total size of the stored images in bytes.
+     */
+    private long maxSize = 1024L * 1024 * 1024;
+
+    /**
+     * Tells whether the exported charts are stored on disk.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the exported charts are stored on disk.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the directory the exported charts are stored in.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Sets the directory the exported charts are stored in.
+     */
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the maximum total size of the stored images in bytes.
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximum total size of the stored images.
+     *
+     * <p>Accepts human-readable values, such as {@code 1GB}.
+     */
+    public void setMaxSize(@ReadableBytes long maxSize) {
+        this.maxSize = maxSize;
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+
+import javax.imageio.ImageIO;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static com.teamdev.jxbrowser.gallery.charts.ImageFormat.JPEG;
+import static com.teamdev.jxbrowser.gallery.charts.ImageFormat.PNG;
+import static com.teamdev.jxbrowser.gallery.charts.ImageFormat.WEBP;
+import static io.micronaut.http.MediaType.APPLICATION_JSON;
+
+/**
+ * A controller that benchmarks the encoders of the exported charts.
+ *
+ * <p>Renders a chart per dataset with the default parameters, and encodes it
+ * with every encoder variant several times. For each variant, reports the size
+ * of the encoded image along with the mean and the minimum encoding time.
+ * This shows the speed/size trade-off of the formats and the PNG settings
+ * on the actual charts and hardware.
+ *
+ * <p>Also, compares the {@linkplain CaptureMode capture modes}, measuring the whole
+ * rendering of a chart in each mode, from drawing to the encoded image.
+ *
+ * <p>The controller is only available when the {@code charts.benchmark.enabled}
+ * property is set to {@code true}, as the benchmark occupies the browsers
+ * and the CPU. The benchmarks run on the blocking executor rather than
+ * on the threads of the HTTP server.
+ */
+@Controller("/benchmark")
+@ExecuteOn(TaskExecutors.BLOCKING)
+@Requires(property = "charts.benchmark.enabled", value = "true")
+final class EncoderBenchmarkController {
+
+    /**
+     * The PNG compression levels to compare.
+     */
+    private static final int[] PNG_LEVELS = {1, 6, 9};
+
+    /**
+     * The renderer of the benchmarked charts.
+     */
+    private final ChartRenderer renderer;
+
+    /**
+     * The encoders of the benchmarked charts.
+     */
+    private final ImageEncoders encoders;
+
+    /**
+     * The maximum number of threads a PNG image is encoded on.
+     */
+    private final int pngParallelism;
+
+    /**
+     * Creates a new controller instance.
+     *
+     * @param renderer the renderer of the benchmarked charts
+     * @param encoders the encoders of the benchmarked charts
+     * @param configuration the configuration of the encoders
+     */
+    EncoderBenchmarkController(ChartRenderer renderer,
+                               ImageEncoders encoders,
+                               EncoderConfiguration configuration) {
+        this.renderer = renderer;
+        this.encoders = encoders;
+        this.pngParallelism = configuration.getPngParallelism();
+    }
+
+    /**
+     * Benchmarks the encoder variants.
+     *
+     * @param iterations the number of times each variant encodes each chart
+     * @return the benchmark results in the JSON format
+     * @throws IOException if an I/O error occurs during the encoding
+     */
+    @Get("/encoders")
+    @Produces(APPLICATION_JSON)
+    String encoders(@QueryValue(defaultValue = "10") int iterations) throws IOException {
+        var results = new JsonArray();
+        for (var dataset : Dataset.values()) {
+            var image = renderer.capture(dataset, "{}", ChartSize.DEFAULT);
+            var buffers = new ImageBuffers();
+            for (var variant : variants()) {
+                results.add(measure(dataset, image, buffers, variant, iterations));
+            }
+        }
+        return results.toString();
+    }
+
+    /**
+     * Benchmarks the capture modes.
+     *
+     * @param iterations the number of times each chart is rendered in each mode
+     * @return the benchmark results in the JSON format
+     * @throws IOException if an I/O error occurs during the encoding
+     */
+    @Get("/capture")
+    @Produces(APPLICATION_JSON)
+    String capture(@QueryValue(defaultValue = "10") int iterations) throws IOException {
+        var results = new JsonArray();
+        for (var dataset : Dataset.values()) {
+            for (var format : ImageFormat.values()) {
+                for (var mode : CaptureMode.values()) {
+                    var captured = mode == CaptureMode.CANVAS || encoders.hasEncoder(format);
+                    if (!format.isVector() && captured) {
+                        var key = new ExportKey(dataset, "{}", format, ChartSize.DEFAULT);
+                        results.add(measure(key, mode, iterations));
+                    }
+                }
+            }
+        }
+        return results.toString();
+    }
+
+    private JsonObject measure(ExportKey key, CaptureMode mode, int iterations)
+            throws IOException {
+        // Warm up the capture.
+        var chart = renderer.render(key, mode);
+        var total = 0L;
+        var min = Long.MAX_VALUE;
+        for (var i = 0; i < iterations; i++) {
+            var start = System.nanoTime();
+            chart = renderer.render(key, mode);
+            var elapsed = System.nanoTime() - start;
+            total += elapsed;
+            min = Math.min(min, elapsed);
+        }
+        var result = new JsonObject();
+        result.addProperty("dataset", key.dataset()
+                                         .id());
+        result.addProperty("format", key.format()
+                                        .formatName());
+        result.addProperty("mode", mode.name()
+                                       .toLowerCase(Locale.ROOT));
+        result.addProperty("bytes", chart.size());
+        result.addProperty("meanMillis", millis(total / Math.max(1, iterations)));
+        result.addProperty("minMillis", millis(min));
+        return result;
+    }
+
+    private List<Variant> variants() {
+        var variants = new ArrayList<Variant>();
+        variants.add(new Variant(PNG, "ImageIO", new ImageIoPngEncoder()));
+        for (var level : PNG_LEVELS) {
+            variants.add(new Variant(
+                    PNG, "level %d, 1 thread".formatted(level), encoders.pngEncoder(level, 1)
+            ));
+            variants.add(new Variant(
+                    PNG,
+                    "level %d, %d threads".formatted(level, pngParallelism),
+                    encoders.pngEncoder(level, pngParallelism)
+            ));
+        }
+        variants.add(new Variant(JPEG, "configured", encoders.encoder(JPEG)));
+        if (encoders.hasEncoder(WEBP)) {
+            variants.add(new Variant(WEBP, "configured", encoders.encoder(WEBP)));
+        }
+        return variants;
+    }
+
+    private static JsonObject measure(Dataset dataset,
+                                      BgraImage image,
+                                      ImageBuffers buffers,
+                                      Variant variant,
+                                      int iterations)
+            throws IOException {
+        var output = new ByteArrayOutputStream();
+        // Warm up the encoder.
+        variant.encoder()
+               .encode(image, buffers, output);
+        var total = 0L;
+        var min = Long.MAX_VALUE;
+        for (var i = 0; i < iterations; i++) {
+            output.reset();
+            var start = System.nanoTime();
+            variant.encoder()
+                   .encode(image, buffers, output);
+            var elapsed = System.nanoTime() - start;
+            total += elapsed;
+            min = Math.min(min, elapsed);
+        }
+        var result = new JsonObject();
+        result.addProperty("dataset", dataset.id());
+        result.addProperty("format", variant.format()
+                                            .formatName());
+        result.addProperty("variant", variant.name());
+        result.addProperty("width", image.width());
+        result.addProperty("height", image.height());
+        result.addProperty("bytes", output.size());
+        result.addProperty("meanMillis", millis(total / Math.max(1, iterations)));
+        result.addProperty("minMillis", millis(min));
+        return result;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * A benchmarked encoder variant.
+     *
+     * @param format the format the encoder produces
+     * @param name the description of the encoder settings
+     * @param encoder the encoder
+     */
+    private record Variant(ImageFormat format, String name, ImageEncoder encoder) {
+    }
+
+    /**
+     * The baseline PNG encoder with the default {@code ImageIO} settings.
+     */
+    private static final class ImageIoPngEncoder implements ImageEncoder {
+
+        @Override
+        public ImageFormat format() {
+            return PNG;
+        }
+
+        @Override
+        public void encode(BgraImage image, ImageBuffers buffers, OutputStream output)
+                throws IOException {
+            ImageIO.write(BitmapConverter.toBufferedImage(image), "png", output);
+        }
+    }
+}
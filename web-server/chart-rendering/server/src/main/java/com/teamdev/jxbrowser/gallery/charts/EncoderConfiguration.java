@@ -0,0 +1,112 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+/**
+ * The configuration of the {@linkplain ImageEncoders image encoders}.
+ *
+ * <p>The values are read from the {@code charts.export.encoder} section
+ * of {@code application.yml}.
+ */
+@ConfigurationProperties("charts.export.encoder")
+final class EncoderConfiguration {
+
+    /**
+     * The deflate compression level of PNG, from 0 to 9.
+     */
+    private int pngCompressionLevel = 6;
+
+    /**
+     * The maximum number of threads a PNG image is encoded on.
+     */
+    private int pngParallelism = Runtime.getRuntime()
+                                        .availableProcessors();
+
+    /**
+     * The compression quality of JPEG, from 0 to 1.
+     */
+    private float jpegQuality = 0.9f;
+
+    /**
+     * The compression quality of WebP, from 0 to 1.
+     */
+    private float webpQuality = 0.9f;
+
+    /**
+     * Returns the deflate compression level of PNG, from 0 to 9.
+     */
+    public int getPngCompressionLevel() {
+        return pngCompressionLevel;
+    }
+
+    /**
+     * Sets the deflate compression level of PNG, from 0 to 9.
+     */
+    public void setPngCompressionLevel(int pngCompressionLevel) {
+        this.pngCompressionLevel = pngCompressionLevel;
+    }
+
+    /**
+     * Returns the maximum number of threads a PNG image is encoded on.
+     */
+    public int getPngParallelism() {
+        return pngParallelism;
+    }
+
+    /**
+     * Sets the maximum number of threads a PNG image is encoded on.
+     */
+    public void setPngParallelism(int pngParallelism) {
+        this.pngParallelism = pngParallelism;
+    }
+
+    /**
+     * Returns the compression quality of JPEG, from 0 to 1.
+     */
+    public float getJpegQuality() {
+        return jpegQuality;
+    }
+
+    /**
+     * Sets the compression quality of JPEG, from 0 to 1.
+     */
+    public void setJpegQuality(float jpegQuality) {
+        this.jpegQuality = jpegQuality;
+    }
+
+    /**
+     * Returns the compression quality of WebP, from 0 to 1.
+     */
+    public float getWebpQuality() {
+        return webpQuality;
+    }
+
+    /**
+     * Sets the compression quality of WebP, from 0 to 1.
+     */
+    public void setWebpQuality(float webpQuality) {
+        this.webpQuality = webpQuality;
+    }
+}
@@ -0,0 +1,368 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import com.teamdev.jxbrowser.engine.Engine;
+import com.teamdev.jxbrowser.engine.EngineOptions;
+import com.teamdev.jxbrowser.license.internal.LicenseProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.teamdev.jxbrowser.engine.RenderingMode.HARDWARE_ACCELERATED;
+
+/**
+ * An {@link Engine} of the {@link BrowserPool} along with the browsers it owns.
+ *
+ * <p>All the browsers of an engine share its Chromium processes, including
+ * the GPU one that composites their frames. So, the pool spreads the browsers
+ * over several engines, and checks them out of the least loaded one.
+ *
+ * <p>Each engine exposes the following metrics, tagged with its name:
+ * <ul>
+ *   <li>{@code charts.rendering.engine.utilization}, the share of its browsers
+ *       checked out at the moment;
+ *   <li>{@code charts.rendering.engine.busy.time}, the total time its browsers have
+ *       been checked out for. Its rate divided by the number of the browsers is
+ *       the utilization of the engine over time;
+ *   <li>{@code charts.rendering.browser.recycled}, the number of browsers replaced,
+ *       tagged with the reason.
+ * </ul>
+ *
+ * <p>A browser returned to the engine is closed and replaced with a new one if
+ * its page is {@linkplain ChartPage#isBroken() broken}, or if it has rendered
+ * {@linkplain BrowserPoolConfiguration#getMaxRenders() too many} charts, or if
+ * the JavaScript heap of its page has grown {@linkplain
+ * BrowserPoolConfiguration#getMaxHeapSize() too large}. This keeps the memory
+ * of the renderers flat however long the server runs.
+ */
+final class EngineShard {
+
+    /**
+     * The logger of the replaced browsers.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(EngineShard.class);
+
+    /**
+     * The pool the browsers belong to.
+     */
+    private final BrowserPool pool;
+
+    /**
+     * The name of the engine in the metrics.
+     */
+    private final String name;
+
+    /**
+     * The engine that owns the browsers.
+     */
+    private final Engine engine;
+
+    /**
+     * The number of browsers the engine owns.
+     */
+    private final int size;
+
+    /**
+     * The browsers that are not checked out at the moment.
+     */
+    private final BlockingQueue<PooledBrowser> idle;
+
+    /**
+     * All the browsers of the engine, including the checked-out ones.
+     */
+    private final List<PooledBrowser> browsers = new CopyOnWriteArrayList<>();
+
+    /**
+     * The number of renders after which a browser is replaced.
+     */
+    private final int maxRenders;
+
+    /**
+     * The size of the JavaScript heap of a page after which the browser is replaced.
+     */
+    private final long maxHeapSize;
+
+    /**
+     * The registry of the application metrics.
+     */
+    private final MeterRegistry registry;
+
+    /**
+     * The number of browsers checked out at the moment.
+     */
+    private final AtomicInteger busy = new AtomicInteger();
+
+    /**
+     * The total time the browsers have been checked out for, in nanoseconds.
+     */
+    private final LongAdder busyTime = new LongAdder();
+
+    /**
+     * Creates a new engine along with its browsers, and registers its metrics.
+     *
+     * @param pool the pool the browsers belong to
+     * @param configuration the configuration of the pool
+     * @param index the index of the engine in the pool
+     * @param firstBrowser the index of the first browser of the engine in the pool
+     * @param size the number of browsers the engine owns
+     * @param registry the registry of the application metrics
+     */
+    EngineShard(BrowserPool pool,
+                BrowserPoolConfiguration configuration,
+                int index,
+                int firstBrowser,
+                int size,
+                MeterRegistry registry) {
+        var options = EngineOptions.newBuilder(HARDWARE_ACCELERATED)
+                .licenseKey(LicenseProvider.INSTANCE.getKey())
+                .build();
+        this.pool = pool;
+        this.name = "engine-" + index;
+        this.engine = Engine.newInstance(options);
+        this.size = size;
+        this.idle = new ArrayBlockingQueue<>(size);
+        this.maxRenders = configuration.getMaxRenders();
+        this.maxHeapSize = configuration.getMaxHeapSize();
+        this.registry = registry;
+        for (var i = 0; i < size; i++) {
+            idle.add(newBrowser("browser-" + (firstBrowser + i)));
+        }
+        Gauge.builder("charts.rendering.engine.utilization", this, EngineShard::load)
+             .tag("engine", name)
+             .register(registry);
+        FunctionCounter.builder("charts.rendering.engine.busy.time", busyTime,
+                                time -> time.sum() / (double) TimeUnit.SECONDS.toNanos(1))
+                       .tag("engine", name)
+                       .baseUnit("seconds")
+                       .register(registry);
+    }
+
+    /**
+     * Returns the name of the engine in the metrics.
+     */
+    String name() {
+        return name;
+    }
+
+    /**
+     * Returns the share of the browsers checked out at the moment, from 0 to 1.
+     */
+    double load() {
+        return busy.get() / (double) size;
+    }
+
+    /**
+     * Tells whether the engine has a browser that is not checked out.
+     */
+    boolean hasIdle() {
+        return !idle.isEmpty();
+    }
+
+    /**
+     * Takes an idle browser of the engine, if any.
+     *
+     * @return the taken browser, or {@code null} if all of them are checked out
+     */
+    PooledBrowser poll() {
+        var browser = idle.poll();
+        if (browser != null) {
+            busy.incrementAndGet();
+        }
+        return browser;
+    }
+
+    /**
+     * Takes the passed idle browser of the engine.
+     *
+     * @return {@code true} if the browser is taken, {@code false} if it has been
+     *         checked out by someone else
+     */
+    boolean poll(PooledBrowser browser) {
+        if (idle.remove(browser)) {
+            busy.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Finds the idle browser of the engine that is the warmest for the passed chart.
+     *
+     * @param dataset the dataset of the chart
+     * @param size the size of the chart
+     * @return the warmest idle browser, or {@code null} if all of them are cold
+     *         or checked out
+     */
+    PooledBrowser warmestIdle(Dataset dataset, ChartSize size) {
+        PooledBrowser warmest = null;
+        var warmestWarmth = Warmth.COLD;
+        for (var browser : idle) {
+            var warmth = browser.page()
+                                .warmth(dataset, size);
+            if (warmth.compareTo(warmestWarmth) > 0) {
+                warmest = browser;
+                warmestWarmth = warmth;
+            }
+        }
+        return warmest;
+    }
+
+    /**
+     * Returns the warmth of the browser of the engine that is the warmest for
+     * the passed chart, be it idle or checked out.
+     */
+    Warmth warmest(Dataset dataset, ChartSize size) {
+        var warmest = Warmth.COLD;
+        for (var browser : browsers) {
+            var warmth = browser.page()
+                                .warmth(dataset, size);
+            if (warmth.compareTo(warmest) > 0) {
+                warmest = warmth;
+            }
+        }
+        return warmest;
+    }
+
+    /**
+     * Returns the passed browser to the idle ones, accounting the time
+     * it has been checked out for.
+     *
+     * <p>Whether the browser has to be recycled is decided while it is still checked
+     * out, so the watchdog closes it if its page hangs. If the browser has to be
+     * recycled, it is closed, and a new one takes its place. If the new one cannot be
+     * created, the creation is {@linkplain BrowserPool#retryLater retried} later.
+     */
+    void release(PooledBrowser browser, long busyNanos) {
+        busyTime.add(busyNanos);
+        try {
+            var reason = recyclingReason(browser);
+            browser.checkIn();
+            if (reason == null) {
+                idle.add(browser);
+                return;
+            }
+            registry.counter("charts.rendering.browser.recycled", "engine", name, "reason", reason)
+                    .increment();
+            browsers.remove(browser);
+            browser.dispose();
+            replace(browser.name());
+        } finally {
+            busy.decrementAndGet();
+        }
+    }
+
+    /**
+     * Creates a new browser in place of the recycled one, retrying later
+     * if the creation fails.
+     */
+    private void replace(String browserName) {
+        try {
+            idle.add(newBrowser(browserName));
+        } catch (RuntimeException e) {
+            LOGGER.error("Unable to replace the browser `{}` of `{}`, retrying later.",
+                         browserName, name, e);
+            pool.retryLater(() -> replace(browserName));
+        }
+    }
+
+    /**
+     * Closes the browsers that have stayed checked out for longer than the passed
+     * deadline, unless they are already broken.
+     *
+     * <p>Closing a browser makes the rendering in it fail, even if it is stuck
+     * in a call into the browser. The browser is replaced once returned.
+     *
+     * @param deadlineNanos the maximum time a browser may stay checked out,
+     *         in nanoseconds
+     */
+    void terminateOverdue(long deadlineNanos) {
+        for (var browser : browsers) {
+            var overdue = browser.isCheckedOut() && browser.busyTime() > deadlineNanos;
+            if (overdue && !browser.page()
+                                   .isBroken()) {
+                LOGGER.warn("The browser `{}` of `{}` has missed the render deadline.",
+                            browser.name(), name);
+                browser.terminate();
+            }
+        }
+    }
+
+    /**
+     * Tells why the passed browser has to be recycled.
+     *
+     * @return the reason to recycle the browser, or {@code null} if it stays
+     */
+    private String recyclingReason(PooledBrowser browser) {
+        var page = browser.page();
+        if (page.isBroken()) {
+            return "broken";
+        }
+        if (browser.renders() >= maxRenders) {
+            return "renders";
+        }
+        try {
+            return page.heapSize() > maxHeapSize ? "memory" : null;
+        } catch (RuntimeException e) {
+            return "broken";
+        }
+    }
+
+    /**
+     * Creates a new browser of the engine and loads the chart page in it.
+     *
+     * <p>If the page fails to load, the browser is closed, so that the failed
+     * attempts to create a browser do not leak them.
+     */
+    private PooledBrowser newBrowser(String browserName) {
+        var browser = engine.newBrowser();
+        PooledBrowser pooled;
+        try {
+            pooled = new PooledBrowser(pool, this, browser, browserName);
+        } catch (RuntimeException e) {
+            if (!browser.isClosed()) {
+                browser.close();
+            }
+            throw e;
+        }
+        browsers.add(pooled);
+        return pooled;
+    }
+
+    /**
+     * Closes the engine along with all of its browsers.
+     */
+    void close() {
+        engine.close();
+    }
+}
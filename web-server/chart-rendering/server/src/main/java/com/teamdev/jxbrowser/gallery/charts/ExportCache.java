@@ -0,0 +1,219 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Singleton;
+
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An in-memory cache of the exported charts.
+ *
+ * <p>The cache evicts the least recently used charts once the total size
+ * of the cached images exceeds the {@linkplain ExportCacheConfiguration#getMaxSize()
+ * configured limit}. An image larger than the limit is not cached at all.
+ *
+ * <p>The charts missing from the memory are looked up in the {@link DiskCache},
+ * and the found ones are kept in the memory again. The exported charts are stored
+ * in both.
+ *
+ * <p>The cache exposes the following metrics:
+ * <ul>
+ *   <li>{@code charts.export.cache.hits} and {@code charts.export.cache.misses},
+ *       the number of lookups that found and did not find the chart;
+ *   <li>{@code charts.export.cache.hit.ratio}, the share of the lookups that
+ *       found the chart;
+ *   <li>{@code charts.export.cache.evictions}, the number of evicted charts;
+ *   <li>{@code charts.export.cache.size}, the total size of the cached images.
+ * </ul>
+ */
+@Singleton
+final class ExportCache {
+
+    /**
+     * The cached charts in the order from the least to the most recently used.
+     */
+    private final LinkedHashMap<ExportKey, ExportedChart> charts =
+            new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Whether the exported charts are cached.
+     */
+    private final boolean enabled;
+
+    /**
+     * The maximum total size of the cached images in bytes.
+     */
+    private final long maxSize;
+
+    /**
+     * The total size of the cached images in bytes.
+     */
+    private long size;
+
+    /**
+     * The number of lookups that found the chart.
+     */
+    private final Counter hits;
+
+    /**
+     * The number of lookups that did not find the chart.
+     */
+    private final Counter misses;
+
+    /**
+     * The number of charts evicted from the cache.
+     */
+    private final Counter evictions;
+
+    /**
+     * The persistent cache under this one.
+     */
+    private final DiskCache disk;
+
+    /**
+     * Creates a new cache and registers its metrics.
+     *
+     * @param configuration the configuration of the cache
+     * @param disk the persistent cache under this one
+     * @param registry the registry of the application metrics
+     */
+    ExportCache(ExportCacheConfiguration configuration, DiskCache disk, MeterRegistry registry) {
+        this.disk = disk;
+        this.enabled = configuration.isEnabled();
+        this.maxSize = configuration.getMaxSize();
+        this.hits = registry.counter("charts.export.cache.hits");
+        this.misses = registry.counter("charts.export.cache.misses");
+        this.evictions = registry.counter("charts.export.cache.evictions");
+        Gauge.builder("charts.export.cache.hit.ratio", this, ExportCache::hitRatio)
+             .register(registry);
+        Gauge.builder("charts.export.cache.size", this, ExportCache::size)
+             .baseUnit("bytes")
+             .register(registry);
+    }
+
+    /**
+     * Looks up the previously exported chart with the passed key in the memory,
+     * and then on the disk.
+     *
+     * <p>A chart cached in the memory is returned right away, and a chart stored
+     * on the disk is read in the background, so the lookup never blocks.
+     *
+     * @return the future of the cached chart, or of an empty optional if it
+     *         is not cached
+     */
+    CompletableFuture<Optional<ExportedChart>> get(ExportKey key) {
+        var chart = getInMemory(key);
+        if (chart.isPresent()) {
+            return CompletableFuture.completedFuture(chart);
+        }
+        return disk.get(key)
+                   .thenApply(stored -> {
+                       stored.ifPresent(found -> putInMemory(key, found));
+                       return stored;
+                   });
+    }
+
+    /**
+     * Tells whether the chart with the passed key is cached in the memory or
+     * on the disk, without counting it as a lookup.
+     */
+    boolean contains(ExportKey key) {
+        if (enabled) {
+            synchronized (this) {
+                if (charts.containsKey(key)) {
+                    return true;
+                }
+            }
+        }
+        return disk.contains(key);
+    }
+
+    /**
+     * Caches the exported chart under the passed key in the memory and on the disk.
+     */
+    void put(ExportKey key, ExportedChart chart) {
+        putInMemory(key, chart);
+        disk.put(key, chart);
+    }
+
+    /**
+     * Returns the previously exported chart with the passed key, if it is cached
+     * in the memory.
+     */
+    private Optional<ExportedChart> getInMemory(ExportKey key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        ExportedChart chart;
+        synchronized (this) {
+            chart = charts.get(key);
+        }
+        if (chart == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return Optional.ofNullable(chart);
+    }
+
+    /**
+     * Caches the exported chart under the passed key in the memory, evicting
+     * the least recently used charts if the size limit is exceeded.
+     */
+    private void putInMemory(ExportKey key, ExportedChart chart) {
+        if (!enabled || chart.size() > maxSize) {
+            return;
+        }
+        synchronized (this) {
+            var previous = charts.put(key, chart);
+            if (previous != null) {
+                size -= previous.size();
+            }
+            size += chart.size();
+            var iterator = charts.values()
+                                 .iterator();
+            while (size > maxSize) {
+                var eldest = iterator.next();
+                iterator.remove();
+                size -= eldest.size();
+                evictions.increment();
+            }
+        }
+    }
+
+    private synchronized double size() {
+        return size;
+    }
+
+    private double hitRatio() {
+        var hitCount = hits.count();
+        var total = hitCount + misses.count();
+        return total == 0 ? 0 : hitCount / total;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The configuration of the chart export.
+ *
+ * <p>The values are read from the {@code charts.export} section
+ * of {@code application.yml}.
+ */
+@ConfigurationProperties("charts.export")
+final class ExportConfiguration {
+
+    /**
+     * Whether the exported images are also saved to the workspaces
+     * of the browsers, for debugging purposes.
+     */
+    private boolean saveImages;
+
+    /**
+     * The way the images of the drawn charts are obtained from the browsers.
+     */
+    private CaptureMode capture = CaptureMode.BITMAP;
+
+    /**
+     * The maximum time to wait for a browser to render a chart, and then to encode
+     * its canvas in the canvas capture mode.
+     */
+    private Duration renderTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Tells whether the exported images are also saved to the file system.
+     */
+    public boolean isSaveImages() {
+        return saveImages;
+    }
+
+    /**
+     * Sets whether the exported images are also saved to the file system.
+     */
+    public void setSaveImages(boolean saveImages) {
+        this.saveImages = saveImages;
+    }
+
+    /**
+     * Returns the way the images of the drawn charts are obtained from the browsers.
+     */
+    public CaptureMode getCapture() {
+        return capture;
+    }
+
+    /**
+     * Sets the way the images of the drawn charts are obtained from the browsers.
+     */
+    public void setCapture(CaptureMode capture) {
+        this.capture = capture;
+    }
+
+    /**
+     * Returns the maximum time to wait for a browser to render a chart,
+     * and to encode its canvas.
+     */
+    public Duration getRenderTimeout() {
+        return renderTimeout;
+    }
+
+    /**
+     * Sets the maximum time to wait for a browser to render a chart,
+     * and to encode its canvas.
+     */
+    public void setRenderTimeout(Duration renderTimeout) {
+        this.renderTimeout = renderTimeout;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import java.util.OptionalInt;
+
+/**
+ * Identifies an exported chart.
+ *
+ * <p>The charts with equal keys are rendered identically, so the key is used
+ * to look up the previously exported charts in the {@link ExportCache}.
+ *
+ * @param dataset the data upon which the chart is based
+ * @param params the {@linkplain ChartParams#canonicalize(String) canonical}
+ *         chart parameters
+ * @param format the format of the exported image
+ * @param size the size of the exported chart
+ * @param pngCompressionLevel the compression level the PNG image is encoded with,
+ *         or empty for the configured one
+ */
+record ExportKey(Dataset dataset,
+                 String params,
+                 ImageFormat format,
+                 ChartSize size,
+                 OptionalInt pngCompressionLevel) {
+
+    /**
+     * Creates a key of the chart encoded with the configured settings.
+     *
+     * @param dataset the data upon which the chart is based
+     * @param params the canonical chart parameters
+     * @param format the format of the exported image
+     * @param size the size of the exported chart
+     */
+    ExportKey(Dataset dataset, String params, ImageFormat format, ChartSize size) {
+        this(dataset, params, format, size, OptionalInt.empty());
+    }
+}
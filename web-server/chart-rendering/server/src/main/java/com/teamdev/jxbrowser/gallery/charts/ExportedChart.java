@@ -0,0 +1,100 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * An encoded image of the exported chart, along with its entity tag.
+ *
+ * @param bytes the encoded image
+ * @param format the format of the image
+ * @param etag the strong entity tag of the image, derived from its content
+ */
+record ExportedChart(byte[] bytes, ImageFormat format, String etag) {
+
+    /**
+     * The prefix of a weak entity tag.
+     */
+    private static final String WEAK_PREFIX = "W/";
+
+    /**
+     * The number of the content digest bytes used in the entity tag.
+     */
+    private static final int ETAG_DIGEST_LENGTH = 16;
+
+    /**
+     * Creates a new instance with the entity tag computed from the image content.
+     *
+     * @param bytes the encoded image
+     * @param format the format of the image
+     * @return the new instance
+     */
+    static ExportedChart of(byte[] bytes, ImageFormat format) {
+        return new ExportedChart(bytes, format, etagOf(bytes));
+    }
+
+    /**
+     * Returns the size of the encoded image in bytes.
+     */
+    int size() {
+        return bytes.length;
+    }
+
+    /**
+     * Tells whether the passed {@code If-None-Match} header value matches
+     * the entity tag of this image.
+     *
+     * <p>The tags are compared weakly, as RFC 9110 requires for {@code If-None-Match},
+     * so a tag the client or a proxy sends back as weak matches too.
+     *
+     * @param ifNoneMatch the header value, or {@code null} if the header is absent
+     * @return {@code true} if the client already has this image, {@code false} otherwise
+     */
+    boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                     .map(String::trim)
+                     .map(tag -> tag.startsWith(WEAK_PREFIX)
+                                 ? tag.substring(WEAK_PREFIX.length())
+                                 : tag)
+                     .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+
+    private static String etagOf(byte[] bytes) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                                      .digest(bytes);
+            var hex = HexFormat.of()
+                               .formatHex(digest, 0, ETAG_DIGEST_LENGTH);
+            return '"' + hex + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported.", e);
+        }
+    }
+}
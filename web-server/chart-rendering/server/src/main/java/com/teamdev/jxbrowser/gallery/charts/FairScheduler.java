@@ -0,0 +1,322 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Schedules the rendering tasks of the {@link RenderQueue} by weighted fair queueing
+ * between the {@linkplain RequestClass classes}, and round-robin between the clients
+ * of a class.
+ *
+ * <p>Each class that has tasks waiting is tagged with the virtual time its next task
+ * would finish at if the classes were served simultaneously, each at the rate
+ * proportional to its weight. The class with the earliest tag is served first.
+ * So, the classes share the browsers in proportion to their weights while both have
+ * tasks waiting, however many clients each of them has, and either class takes all
+ * of them while the other one has none. The clients of the same class take turns,
+ * so they share its part equally.
+ *
+ * <p>The virtual time is the tag of the last served task, as in self-clocked fair
+ * queueing, so a class that has been idle for a while does not get extra service.
+ *
+ * <p>A client never has more than {@code maxPerClient} tasks running at once.
+ * Its further tasks wait, and the tasks of the other clients are served meanwhile.
+ *
+ * <p>Only the tasks {@linkplain #offer offered} count against the capacity. The tasks
+ * {@linkplain #put put} regardless of it, such as the charts of the batch exports,
+ * never make the offered ones rejected.
+ */
+final class FairScheduler {
+
+    /**
+     * The waiting tasks of each class.
+     */
+    private final Map<RequestClass, ClassQueue> classes = new EnumMap<>(RequestClass.class);
+
+    /**
+     * The maximum number of the offered tasks waiting to be served.
+     */
+    private final int capacity;
+
+    /**
+     * The maximum number of the tasks of a client running at once.
+     */
+    private final int maxPerClient;
+
+    /**
+     * The number of the running tasks of each client that has any.
+     */
+    private final Map<String, Integer> running = new HashMap<>();
+
+    /**
+     * The number of the offered tasks waiting to be served.
+     */
+    private int offered;
+
+    /**
+     * The virtual time: the largest tag of the tasks served so far.
+     */
+    private double virtualTime;
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param weights the weights of the request classes
+     * @param capacity the maximum number of the offered tasks waiting to be served
+     * @param maxPerClient the maximum number of the tasks of a client running at once
+     */
+    FairScheduler(Map<RequestClass, Integer> weights, int capacity, int maxPerClient) {
+        for (var requestClass : RequestClass.values()) {
+            var weight = Math.max(1, weights.getOrDefault(requestClass, 1));
+            classes.put(requestClass, new ClassQueue(1.0 / weight));
+        }
+        this.capacity = capacity;
+        this.maxPerClient = Math.max(1, maxPerClient);
+    }
+
+    /**
+     * Queues the task, unless the offered tasks are at the capacity.
+     *
+     * @return {@code true} if the task is queued, {@code false} if it is rejected
+     */
+    synchronized boolean offer(Task task) {
+        if (offered >= capacity) {
+            return false;
+        }
+        queue(task, true);
+        return true;
+    }
+
+    /**
+     * Queues the task regardless of the capacity.
+     */
+    synchronized void put(Task task) {
+        queue(task, false);
+    }
+
+    /**
+     * Takes the next task to serve, waiting for one if necessary.
+     *
+     * <p>The served task must be reported {@linkplain #done done} once it is over.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    synchronized Task take() throws InterruptedException {
+        while (true) {
+            var next = next();
+            if (next != null) {
+                return next;
+            }
+            wait();
+        }
+    }
+
+    /**
+     * Reports that the passed task is over, so that its client may run another one.
+     */
+    synchronized void done(Task task) {
+        running.computeIfPresent(task.request()
+                                     .client(), (client, count) -> count > 1 ? count - 1 : null);
+        notifyAll();
+    }
+
+    /**
+     * Returns the number of the tasks of the passed class waiting to be served.
+     */
+    synchronized int size(RequestClass requestClass) {
+        return classes.get(requestClass)
+                      .size();
+    }
+
+    /**
+     * Tells whether there are neither tasks waiting nor running.
+     */
+    synchronized boolean isIdle() {
+        return running.isEmpty() && size() == 0;
+    }
+
+    /**
+     * Returns the number of the tasks waiting to be served.
+     */
+    synchronized int size() {
+        return classes.values()
+                      .stream()
+                      .mapToInt(ClassQueue::size)
+                      .sum();
+    }
+
+    /**
+     * Queues the task in its class, tagging the class if it has had no tasks waiting.
+     */
+    private void queue(Task task, boolean isOffered) {
+        var classQueue = classes.get(task.request()
+                                         .requestClass());
+        if (classQueue.size() == 0) {
+            classQueue.finish = Math.max(classQueue.finish, virtualTime);
+        }
+        classQueue.add(new Queued(task, isOffered));
+        if (isOffered) {
+            offered++;
+        }
+        notifyAll();
+    }
+
+    /**
+     * Removes and returns the next waiting task of the class with the earliest tag
+     * among the classes that have a client that may run one more task.
+     *
+     * @return the task to serve, or {@code null} if there is none
+     */
+    private Task next() {
+        ClassQueue earliest = null;
+        var minTag = Double.MAX_VALUE;
+        for (var classQueue : classes.values()) {
+            var tag = classQueue.finish + classQueue.cost;
+            if (tag < minTag && classQueue.hasRunnable(running, maxPerClient)) {
+                earliest = classQueue;
+                minTag = tag;
+            }
+        }
+        if (earliest == null) {
+            return null;
+        }
+        var next = earliest.poll(running, maxPerClient);
+        earliest.finish = minTag;
+        virtualTime = Math.max(virtualTime, minTag);
+        if (next.isOffered()) {
+            offered--;
+        }
+        var task = next.task();
+        running.merge(task.request()
+                          .client(), 1, Integer::sum);
+        return task;
+    }
+
+    /**
+     * A rendering task along with the request it serves.
+     *
+     * @param request the class and the client of the request
+     * @param action the rendering to run
+     */
+    record Task(RenderRequest request, Runnable action) {
+    }
+
+    /**
+     * A queued task along with whether it counts against the capacity.
+     */
+    private record Queued(Task task, boolean isOffered) {
+    }
+
+    /**
+     * The waiting tasks of a request class, queued per client.
+     *
+     * <p>The clients are kept in the order of their turns. A client that has had
+     * a task taken moves to the end.
+     */
+    private static final class ClassQueue {
+
+        /**
+         * The virtual time a task of the class takes.
+         */
+        private final double cost;
+
+        /**
+         * The waiting tasks of each client that has any, in the order of their turns.
+         */
+        private final Map<String, Queue<Queued>> clients = new LinkedHashMap<>();
+
+        /**
+         * The number of the waiting tasks.
+         */
+        private int size;
+
+        /**
+         * The virtual finish time of the last task taken from the class.
+         */
+        private double finish;
+
+        private ClassQueue(double cost) {
+            this.cost = cost;
+        }
+
+        /**
+         * Returns the number of the waiting tasks.
+         */
+        int size() {
+            return size;
+        }
+
+        /**
+         * Queues the task after the other tasks of its client.
+         */
+        void add(Queued queued) {
+            clients.computeIfAbsent(queued.task()
+                                          .request()
+                                          .client(), client -> new ArrayDeque<>())
+                   .add(queued);
+            size++;
+        }
+
+        /**
+         * Tells whether a client of the class that may run one more task has one waiting.
+         */
+        boolean hasRunnable(Map<String, Integer> running, int maxPerClient) {
+            for (var client : clients.keySet()) {
+                if (running.getOrDefault(client, 0) < maxPerClient) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Removes and returns the next task of the first client in turn that may run
+         * one more task, and moves the client to the end.
+         *
+         * @return the task, or {@code null} if there is none
+         */
+        Queued poll(Map<String, Integer> running, int maxPerClient) {
+            for (var entry : clients.entrySet()) {
+                var client = entry.getKey();
+                if (running.getOrDefault(client, 0) >= maxPerClient) {
+                    continue;
+                }
+                var tasks = entry.getValue();
+                var next = tasks.remove();
+                clients.remove(client);
+                if (!tasks.isEmpty()) {
+                    clients.put(client, tasks);
+                }
+                size--;
+                return next;
+            }
+            return null;
+        }
+    }
+}
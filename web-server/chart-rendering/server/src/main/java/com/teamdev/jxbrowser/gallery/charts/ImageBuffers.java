@@ -0,0 +1,128 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The scratch buffers of the image conversion and encoding, reused by
+ * the subsequent exports.
+ *
+ * <p>The arrays are pooled by their purpose and length, which derives from
+ * the image dimensions. So, as long as the charts have the same size,
+ * an export allocates no new full-size buffers. Only a limited number of
+ * the recently used arrays is kept, so that a change of the chart size
+ * does not pin the arrays of the previous sizes forever.
+ *
+ * <p>The pooled arrays are returned as is, with the content left by
+ * the previous export, so the caller must overwrite them entirely.
+ *
+ * <p>Each {@link PooledBrowser} has its own buffers. The buffers are not
+ * thread-safe: they must be obtained by the thread that owns the browser,
+ * before the work is split among several threads.
+ */
+final class ImageBuffers {
+
+    /**
+     * The maximum number of the pooled arrays.
+     */
+    private static final int MAX_ARRAYS = 32;
+
+    /**
+     * The pooled arrays by their keys, from the least to the most recently used.
+     */
+    private final Map<ArrayKey, Object> arrays = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ArrayKey, Object> eldest) {
+            return size() > MAX_ARRAYS;
+        }
+    };
+
+    /**
+     * The pooled streams by their names.
+     *
+     * <p>Each stream grows only until it fits the largest content written to it.
+     */
+    private final Map<String, ByteArrayOutputStream> streams = new HashMap<>();
+
+    /**
+     * Returns the byte array of the passed purpose and length.
+     *
+     * @param name the purpose of the array
+     * @param length the length of the array
+     * @return the pooled array, or a new one if there is none
+     */
+    byte[] bytes(String name, int length) {
+        var key = new ArrayKey(name, length);
+        var array = (byte[]) arrays.get(key);
+        if (array == null) {
+            array = new byte[length];
+            arrays.put(key, array);
+        }
+        return array;
+    }
+
+    /**
+     * Returns the int array of the passed purpose and length.
+     *
+     * @param name the purpose of the array
+     * @param length the length of the array
+     * @return the pooled array, or a new one if there is none
+     */
+    int[] ints(String name, int length) {
+        var key = new ArrayKey(name, length);
+        var array = (int[]) arrays.get(key);
+        if (array == null) {
+            array = new int[length];
+            arrays.put(key, array);
+        }
+        return array;
+    }
+
+    /**
+     * Returns the emptied stream of the passed purpose.
+     *
+     * @param name the purpose of the stream
+     * @param initialSize the initial capacity of the stream, if it is created
+     * @return the pooled stream, or a new one if there is none
+     */
+    ByteArrayOutputStream stream(String name, int initialSize) {
+        var stream = streams.computeIfAbsent(name, n -> new ByteArrayOutputStream(initialSize));
+        stream.reset();
+        return stream;
+    }
+
+    /**
+     * The key of a pooled array.
+     *
+     * <p>The arrays of different types never share a name.
+     *
+     * @param name the purpose of the array
+     * @param length the length of the array
+     */
+    private record ArrayKey(String name, int length) {
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An encoder of the rendered charts into one of the {@linkplain ImageFormat image formats}.
+ *
+ * <p>The encoders are obtained from {@link ImageEncoders}.
+ */
+interface ImageEncoder {
+
+    /**
+     * Returns the format this encoder produces.
+     */
+    ImageFormat format();
+
+    /**
+     * Encodes the passed image and writes the result to the passed stream.
+     *
+     * @param image the image to encode
+     * @param buffers the scratch buffers to use during the encoding
+     * @param output the stream to write the encoded image to
+     * @throws IOException if an I/O error occurs during the operation
+     */
+    void encode(BgraImage image, ImageBuffers buffers, OutputStream output) throws IOException;
+}
@@ -0,0 +1,271 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micronaut.core.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.teamdev.jxbrowser.gallery.charts.ImageFormat.JPEG;
+import static com.teamdev.jxbrowser.gallery.charts.ImageFormat.PNG;
+import static com.teamdev.jxbrowser.gallery.charts.ImageFormat.WEBP;
+
+/**
+ * The encoder stage of the chart export.
+ *
+ * <p>Holds an {@link ImageEncoder} per supported {@link ImageFormat} and picks
+ * the format of an exported chart. The formats are supported as follows:
+ * <ul>
+ *   <li>PNG, by the {@link PngEncoder} with the tunable compression level
+ *       and the parallel compression;
+ *   <li>JPEG, by the {@code ImageIO} writer with the tunable quality;
+ *   <li>WebP, by the {@code ImageIO} writer with the tunable quality, only if
+ *       such a writer is present on the classpath, as the JDK does not provide one.
+ * </ul>
+ *
+ * <p>In the {@linkplain CaptureMode#CANVAS canvas capture mode}, the images are
+ * encoded by the browsers, which support all the raster formats.
+ *
+ * <p>The {@linkplain ImageFormat#isVector() vector formats} are produced by
+ * the browsers regardless of the capture mode, and are requested explicitly
+ * via the dedicated endpoints rather than negotiated.
+ */
+@Singleton
+final class ImageEncoders {
+
+    /**
+     * The encoders of the supported formats.
+     */
+    private final Map<ImageFormat, ImageEncoder> encoders = new EnumMap<>(ImageFormat.class);
+
+    /**
+     * The formats the charts can be exported to.
+     */
+    private final Set<ImageFormat> formats;
+
+    /**
+     * The compression quality of JPEG, from 0 to 1.
+     */
+    private final float jpegQuality;
+
+    /**
+     * The compression quality of WebP, from 0 to 1.
+     */
+    private final float webpQuality;
+
+    /**
+     * The executor running the tasks of the parallel PNG encoding.
+     */
+    private final ExecutorService pngExecutor;
+
+    /**
+     * The maximum number of threads a PNG image is encoded on.
+     */
+    private final int pngParallelism;
+
+    /**
+     * Creates the encoders of the supported formats.
+     *
+     * @param configuration the configuration of the encoders
+     * @param exportConfiguration the configuration of the chart export
+     */
+    ImageEncoders(EncoderConfiguration configuration, ExportConfiguration exportConfiguration) {
+        this.jpegQuality = configuration.getJpegQuality();
+        this.webpQuality = configuration.getWebpQuality();
+        var parallelism = configuration.getPngParallelism();
+        this.pngParallelism = parallelism;
+        this.pngExecutor = Executors.newFixedThreadPool(
+                parallelism, new DaemonThreadFactory("png-encoder")
+        );
+        encoders.put(PNG, new PngEncoder(
+                configuration.getPngCompressionLevel(), parallelism, pngExecutor
+        ));
+        encoders.put(JPEG, new ImageIoEncoder(JPEG, jpegQuality, true));
+        if (ImageIoEncoder.isSupported(WEBP)) {
+            encoders.put(WEBP, new ImageIoEncoder(WEBP, webpQuality, false));
+        }
+        this.formats = exportConfiguration.getCapture() == CaptureMode.CANVAS
+                       ? EnumSet.of(PNG, JPEG, WEBP)
+                       : EnumSet.copyOf(encoders.keySet());
+    }
+
+    /**
+     * Tells whether the passed format can be encoded on the server.
+     */
+    boolean hasEncoder(ImageFormat format) {
+        return encoders.containsKey(format);
+    }
+
+    /**
+     * Returns the encoder of the passed format.
+     *
+     * @param format the format to encode to
+     * @return the encoder
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    ImageEncoder encoder(ImageFormat format) {
+        var encoder = encoders.get(format);
+        if (encoder == null) {
+            throw new IllegalArgumentException(
+                    "The `%s` format is not supported.".formatted(format.formatName())
+            );
+        }
+        return encoder;
+    }
+
+    /**
+     * Returns the encoder of the chart with the passed key.
+     *
+     * <p>At a {@linkplain RenderQuality reduced quality}, the key may tell
+     * the PNG images to be compressed with less effort.
+     *
+     * @param key the key of the exported chart
+     * @return the encoder
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    ImageEncoder encoder(ExportKey key) {
+        var format = key.format();
+        var compressionLevel = key.pngCompressionLevel();
+        if (format == PNG && compressionLevel.isPresent()) {
+            return pngEncoder(compressionLevel.getAsInt(), pngParallelism);
+        }
+        return encoder(format);
+    }
+
+    /**
+     * Creates a PNG encoder with the passed settings, which runs on the same
+     * executor as the configured one.
+     *
+     * @param compressionLevel the deflate compression level, from 0 to 9
+     * @param parallelism the maximum number of threads the image is encoded on
+     * @return the new encoder
+     */
+    ImageEncoder pngEncoder(int compressionLevel, int parallelism) {
+        return new PngEncoder(compressionLevel, parallelism, pngExecutor);
+    }
+
+    /**
+     * Returns the configured compression quality of the passed format.
+     *
+     * @param format the image format
+     * @return the quality from 0 to 1, or 1 for the lossless and vector formats
+     */
+    float quality(ImageFormat format) {
+        return switch (format) {
+            case JPEG -> jpegQuality;
+            case WEBP -> webpQuality;
+            case PNG, SVG, PDF -> 1.0f;
+        };
+    }
+
+    /**
+     * Picks the format of the exported chart.
+     *
+     * <p>The format explicitly passed as the {@code format} query parameter takes
+     * precedence. Otherwise, the most preferred supported format listed in
+     * the {@code Accept} header is picked. PNG is the default format.
+     *
+     * @param format the value of the {@code format} query parameter, if any
+     * @param accept the value of the {@code Accept} header, if any
+     * @return the picked format, or an empty {@code Optional} if the explicitly
+     *         requested format is not supported
+     * @throws IllegalArgumentException if the requested format is unknown
+     */
+    Optional<ImageFormat> negotiate(@Nullable String format, @Nullable String accept) {
+        if (format != null) {
+            var requested = ImageFormat.byName(format);
+            return formats.contains(requested) ? Optional.of(requested) : Optional.empty();
+        }
+        if (accept == null) {
+            return Optional.of(PNG);
+        }
+        var preferred = Arrays.stream(accept.split(","))
+                              .map(AcceptedType::parse)
+                              .filter(type -> type.quality() > 0)
+                              .sorted(Comparator.comparingDouble(AcceptedType::quality)
+                                                .reversed())
+                              .map(this::formatOf)
+                              .flatMap(Optional::stream)
+                              .findFirst();
+        return Optional.of(preferred.orElse(PNG));
+    }
+
+    /**
+     * Returns the supported format matching the passed accepted media type.
+     *
+     * <p>The wildcard types match PNG.
+     */
+    private Optional<ImageFormat> formatOf(AcceptedType type) {
+        var mediaType = type.mediaType();
+        if (mediaType.equals("*/*") || mediaType.equals("image/*")) {
+            return Optional.of(PNG);
+        }
+        return formats.stream()
+                      .filter(format -> format.mediaType()
+                                              .equals(mediaType))
+                      .findFirst();
+    }
+
+    /**
+     * Stops the executor running the tasks of the parallel PNG encoding.
+     */
+    @PreDestroy
+    void close() {
+        pngExecutor.shutdown();
+    }
+
+    /**
+     * A media type listed in the {@code Accept} header, along with its quality value.
+     */
+    private record AcceptedType(String mediaType, double quality) {
+
+        private static AcceptedType parse(String value) {
+            var parts = value.split(";");
+            var mediaType = parts[0].trim()
+                                    .toLowerCase(Locale.ROOT);
+            var quality = 1.0;
+            for (var i = 1; i < parts.length; i++) {
+                var parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException ignored) {
+                        quality = 0;
+                    }
+                }
+            }
+            return new AcceptedType(mediaType, quality);
+        }
+    }
+}
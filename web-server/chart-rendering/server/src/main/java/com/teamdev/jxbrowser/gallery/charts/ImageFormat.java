@@ -0,0 +1,108 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import java.util.Locale;
+
+/**
+ * An enumeration of image formats the charts can be exported to.
+ *
+ * <p>The raster formats hold the pixels of the rendered charts. The vector
+ * formats hold the drawing operations of the charts, which are replayed
+ * at any resolution.
+ */
+enum ImageFormat {
+
+    PNG("png", "image/png"),
+    JPEG("jpeg", "image/jpeg"),
+    WEBP("webp", "image/webp"),
+    SVG("svg", "image/svg+xml"),
+    PDF("pdf", "application/pdf");
+
+    /**
+     * The name of the format, as passed in the {@code format} query parameter.
+     */
+    private final String formatName;
+
+    /**
+     * The media type of the images in this format.
+     */
+    private final String mediaType;
+
+    ImageFormat(String formatName, String mediaType) {
+        this.formatName = formatName;
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Returns the format with the passed name.
+     *
+     * <p>The name is case-insensitive, and {@code jpg} is accepted as an alias
+     * of {@code jpeg}.
+     *
+     * @param name the name of the format
+     * @return the format
+     * @throws IllegalArgumentException if there is no format with such a name
+     */
+    static ImageFormat byName(String name) {
+        var normalized = name.trim()
+                             .toLowerCase(Locale.ROOT);
+        if (normalized.equals("jpg")) {
+            return JPEG;
+        }
+        for (var format : values()) {
+            if (format.formatName.equals(normalized)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown image format: `%s`.".formatted(name));
+    }
+
+    /**
+     * Returns the name of the format.
+     */
+    String formatName() {
+        return formatName;
+    }
+
+    /**
+     * Returns the media type of the images in this format.
+     */
+    String mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Tells whether this is a vector format.
+     */
+    boolean isVector() {
+        return this == SVG || this == PDF;
+    }
+
+    /**
+     * Returns the file name extension of the images in this format.
+     */
+    String extension() {
+        return this == JPEG ? "jpg" : formatName;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An encoder that delegates to an {@code ImageIO} writer registered
+ * for the image format.
+ *
+ * <p>The writer is configured with the explicit compression quality, if it
+ * supports one. For the formats without the alpha channel, the image is
+ * blended over the white background first.
+ */
+final class ImageIoEncoder implements ImageEncoder {
+
+    static {
+        // Encode the images in memory rather than via a temporary file.
+        ImageIO.setUseCache(false);
+    }
+
+    /**
+     * The format this encoder produces.
+     */
+    private final ImageFormat format;
+
+    /**
+     * The compression quality, from 0 to 1.
+     */
+    private final float quality;
+
+    /**
+     * Whether the format lacks the alpha channel.
+     */
+    private final boolean opaque;
+
+    /**
+     * Creates a new encoder.
+     *
+     * @param format the format to produce
+     * @param quality the compression quality, from 0 to 1
+     * @param opaque whether the format lacks the alpha channel
+     */
+    ImageIoEncoder(ImageFormat format, float quality, boolean opaque) {
+        this.format = format;
+        this.quality = quality;
+        this.opaque = opaque;
+    }
+
+    /**
+     * Tells whether there is an {@code ImageIO} writer for the passed format.
+     */
+    static boolean isSupported(ImageFormat format) {
+        return ImageIO.getImageWritersByMIMEType(format.mediaType())
+                      .hasNext();
+    }
+
+    @Override
+    public ImageFormat format() {
+        return format;
+    }
+
+    @Override
+    public void encode(BgraImage image, ImageBuffers buffers, OutputStream output)
+            throws IOException {
+        var writer = newWriter();
+        try (var stream = ImageIO.createImageOutputStream(output)) {
+            var params = writer.getDefaultWriteParam();
+            if (params.canWriteCompressed()) {
+                params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                params.setCompressionQuality(quality);
+            }
+            writer.setOutput(stream);
+            var source = opaque
+                         ? BitmapConverter.toOpaqueImage(image, buffers)
+                         : BitmapConverter.toBufferedImage(image);
+            writer.write(null, new IIOImage(source, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private ImageWriter newWriter() throws IOException {
+        var writers = ImageIO.getImageWritersByMIMEType(format.mediaType());
+        if (!writers.hasNext()) {
+            throw new IOException("No `ImageIO` writer for `%s`.".formatted(format.mediaType()));
+        }
+        return writers.next();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * The exports of the charts that are being rendered at the moment.
+ *
+ * <p>When several identical charts are requested at the same time, as it happens
+ * when a dashboard fans out, only the first request renders the chart. The other
+ * ones wait for the same rendering and get the same {@link ExportedChart},
+ * along with its bytes. So, the browsers render each distinct chart once,
+ * regardless of the {@link ExportCache}, which may be disabled or too small.
+ *
+ * <p>An export is forgotten as soon as it completes. The requests arriving
+ * after that are served by the cache, or start a new rendering.
+ *
+ * <p>The number of the requests that joined an export in progress is exposed
+ * as the {@code charts.export.coalesced} metric.
+ */
+@Singleton
+final class InFlightExports {
+
+    /**
+     * The exports in progress by the keys of their charts.
+     */
+    private final ConcurrentMap<ExportKey, CompletableFuture<ExportedChart>> exports =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The number of the requests that joined an export in progress.
+     */
+    private final Counter coalesced;
+
+    /**
+     * Creates a new instance and registers its metrics.
+     *
+     * @param registry the registry of the application metrics
+     */
+    InFlightExports(MeterRegistry registry) {
+        this.coalesced = registry.counter("charts.export.coalesced");
+    }
+
+    /**
+     * Joins the export of the chart in progress, or starts a new one.
+     *
+     * @param key the key of the chart
+     * @param export starts the export of the chart, unless one is in progress
+     * @return the exported chart, shared by all the requests of the same chart;
+     *         each request gets its own copy of the future, so cancelling it does not
+     *         affect the other requests
+     */
+    CompletableFuture<ExportedChart> join(ExportKey key,
+                                          Supplier<CompletableFuture<ExportedChart>> export) {
+        var started = new CompletableFuture<ExportedChart>();
+        var current = exports.putIfAbsent(key, started);
+        if (current != null) {
+            coalesced.increment();
+            return current.copy();
+        }
+        try {
+            export.get()
+                  .whenComplete((chart, error) -> {
+                      exports.remove(key, started);
+                      if (error != null) {
+                          started.completeExceptionally(error);
+                      } else {
+                          started.complete(chart);
+                      }
+                  });
+        } catch (RuntimeException e) {
+            exports.remove(key, started);
+            started.completeExceptionally(e);
+        }
+        return started.copy();
+    }
+}
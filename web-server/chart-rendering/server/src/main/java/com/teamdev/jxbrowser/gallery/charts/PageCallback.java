@@ -0,0 +1,149 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A result of an asynchronous operation of the {@link ChartPage}, which
+ * the JavaScript code of the page calls back with.
+ *
+ * <p>Each operation is {@linkplain #start() started} with a new ID, which is passed
+ * to the page and then back with the result. The page performs one operation
+ * at a time, so only the result of the last started operation is awaited.
+ * The results of the abandoned operations, such as the timed out ones,
+ * are ignored.
+ *
+ * @param <T> the type of the result
+ */
+final class PageCallback<T> {
+
+    /**
+     * The description of the operation used in the error messages.
+     */
+    private final String operation;
+
+    /**
+     * The ID of the last started operation.
+     */
+    private final AtomicLong lastId = new AtomicLong();
+
+    /**
+     * The operation awaiting its result.
+     */
+    private volatile Pending<T> pending;
+
+    /**
+     * Creates a new callback.
+     *
+     * @param operation the description of the operation, such as "draw the chart"
+     */
+    PageCallback(String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Starts a new operation, abandoning the pending one, if any.
+     *
+     * @return the ID of the operation to pass to the page
+     */
+    String start() {
+        var id = Long.toString(lastId.incrementAndGet());
+        pending = new Pending<>(id, new CompletableFuture<>());
+        return id;
+    }
+
+    /**
+     * Waits for the started operation to complete.
+     *
+     * @param timeout the maximum time to wait
+     * @return the result of the operation
+     * @throws RenderingUnavailableException if the operation does not complete in time
+     * @throws IllegalStateException if the page reports a failure of the operation
+     */
+    T await(Duration timeout) {
+        try {
+            return pending.result()
+                          .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new RenderingUnavailableException(
+                    "Unable to %s in %s.".formatted(operation, timeout), e
+            );
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(
+                    "Unable to %s.".formatted(operation), e.getCause()
+            );
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while waiting to %s.".formatted(operation), e
+            );
+        }
+    }
+
+    /**
+     * Completes the operation with the passed ID, unless it is abandoned.
+     *
+     * @param id the ID of the operation
+     * @param result the result of the operation
+     */
+    void complete(String id, T result) {
+        var current = pending;
+        if (current != null && current.id()
+                                      .equals(id)) {
+            current.result()
+                   .complete(result);
+        }
+    }
+
+    /**
+     * Fails the operation with the passed ID, unless it is abandoned.
+     *
+     * @param id the ID of the operation
+     * @param message the description of the failure reported by the page
+     */
+    void fail(String id, String message) {
+        var current = pending;
+        if (current != null && current.id()
+                                      .equals(id)) {
+            current.result()
+                   .completeExceptionally(new IllegalStateException(message));
+        }
+    }
+
+    /**
+     * A started operation.
+     *
+     * @param id the ID of the operation
+     * @param result the result of the operation, once the page passes it
+     * @param <T> the type of the result
+     */
+    private record Pending<T>(String id, CompletableFuture<T> result) {
+    }
+}
@@ -0,0 +1,453 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * An encoder of the images into the PNG format.
+ *
+ * <p>Unlike {@code ImageIO}, the encoder has a tunable compression level
+ * and compresses the image on several threads at once:
+ * <ol>
+ *   <li>The scanlines are filtered in parallel, each with the filter type
+ *       that minimizes the sum of the absolute differences.
+ *   <li>The filtered data is split into chunks, which are deflated in parallel.
+ *       Each chunk, except the last one, ends with a sync flush, so that
+ *       the compressed chunks concatenate into a single valid deflate stream.
+ *       To keep the compression ratio, each chunk uses the last 32 KB
+ *       of the preceding data as the preset dictionary.
+ *   <li>The compressed chunks are written as a single {@code IDAT} chunk,
+ *       along with the checksum of the whole filtered data.
+ * </ol>
+ *
+ * <p>The images are always encoded as 8-bit RGBA. The scanlines are read right
+ * from the BGRA pixels of the rendered image, and the filtered and compressed
+ * data is kept in the {@linkplain ImageBuffers pooled buffers}, so that
+ * the encoding allocates no full-size arrays.
+ */
+final class PngEncoder implements ImageEncoder {
+
+    /**
+     * The signature every PNG file starts with.
+     */
+    private static final byte[] SIGNATURE = {(byte) 137, 80, 78, 71, 13, 10, 26, 10};
+
+    /**
+     * The number of bytes per RGBA pixel.
+     */
+    private static final int BYTES_PER_PIXEL = BgraImage.BYTES_PER_PIXEL;
+
+    /**
+     * The size of the deflate window, which is also the maximum size
+     * of the preset dictionary.
+     */
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    /**
+     * The minimum size of the filtered data deflated as a separate chunk.
+     *
+     * <p>Smaller images are compressed in fewer chunks, as the gain from
+     * the parallel compression does not pay for the task scheduling.
+     */
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+
+    /**
+     * The name of the pooled array of the filtered data.
+     */
+    private static final String FILTERED = "png-filtered";
+
+    /**
+     * The prefix of the names of the pooled arrays the data chunks are deflated into.
+     */
+    private static final String DEFLATED = "png-deflated-";
+
+    /**
+     * The deflate compression level, from 0 to 9.
+     */
+    private final int compressionLevel;
+
+    /**
+     * The maximum number of threads the image is encoded on.
+     */
+    private final int parallelism;
+
+    /**
+     * The executor running the filtering and compression tasks.
+     */
+    private final Executor executor;
+
+    /**
+     * Creates a new encoder.
+     *
+     * @param compressionLevel the deflate compression level, from 0 to 9
+     * @param parallelism the maximum number of threads the image is encoded on
+     * @param executor the executor running the filtering and compression tasks
+     */
+    PngEncoder(int compressionLevel, int parallelism, Executor executor) {
+        if (compressionLevel < Deflater.NO_COMPRESSION
+                || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException(
+                    "Invalid PNG compression level: %d.".formatted(compressionLevel)
+            );
+        }
+        this.compressionLevel = compressionLevel;
+        this.parallelism = Math.max(1, parallelism);
+        this.executor = executor;
+    }
+
+    @Override
+    public ImageFormat format() {
+        return ImageFormat.PNG;
+    }
+
+    @Override
+    public void encode(BgraImage image, ImageBuffers buffers, OutputStream output)
+            throws IOException {
+        var filtered = filter(image, buffers);
+        var checksum = async(() -> adler32(filtered));
+        var compressed = deflate(filtered, buffers);
+
+        var out = new DataOutputStream(output);
+        out.write(SIGNATURE);
+        writeChunk(out, "IHDR", header(image.width(), image.height()));
+        writeIdat(out, compressed, join(checksum));
+        writeChunk(out, "IEND", new byte[0]);
+        out.flush();
+    }
+
+    /**
+     * Filters the scanlines of the image, splitting the work into row ranges
+     * filtered in parallel.
+     *
+     * @return the filtered data, in which each scanline is preceded by
+     *         the filter type byte
+     */
+    private byte[] filter(BgraImage image, ImageBuffers buffers) {
+        var height = image.height();
+        var stride = image.rowLength() + 1;
+        var filtered = buffers.bytes(FILTERED, stride * height);
+        var tasks = Math.min(parallelism, Math.max(1, filtered.length / MIN_CHUNK_SIZE));
+        var rowsPerTask = (height + tasks - 1) / tasks;
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        for (var start = 0; start < height; start += rowsPerTask) {
+            var from = start;
+            var to = Math.min(height, start + rowsPerTask);
+            futures.add(async(() -> {
+                filterRows(image, from, to, filtered);
+                return null;
+            }));
+        }
+        futures.forEach(PngEncoder::join);
+        return filtered;
+    }
+
+    private static void filterRows(BgraImage image, int from, int to, byte[] filtered) {
+        var rowLength = image.rowLength();
+        var prior = new byte[rowLength];
+        var row = new byte[rowLength];
+        if (from > 0) {
+            readRow(image, from - 1, prior);
+        }
+        for (var y = from; y < to; y++) {
+            readRow(image, y, row);
+            filterRow(row, prior, filtered, y * (rowLength + 1));
+            var previous = prior;
+            prior = row;
+            row = previous;
+        }
+    }
+
+    /**
+     * Reads the scanline of the premultiplied BGRA image as non-premultiplied RGBA.
+     */
+    private static void readRow(BgraImage image, int y, byte[] row) {
+        var pixels = image.pixels();
+        var offset = image.rowOffset(y);
+        for (var i = 0; i < row.length; i += BYTES_PER_PIXEL) {
+            var p = offset + i;
+            var alpha = pixels[p + 3] & 0xFF;
+            if (alpha == 0xFF || alpha == 0) {
+                row[i] = pixels[p + 2];
+                row[i + 1] = pixels[p + 1];
+                row[i + 2] = pixels[p];
+            } else {
+                row[i] = unpremultiply(pixels[p + 2], alpha);
+                row[i + 1] = unpremultiply(pixels[p + 1], alpha);
+                row[i + 2] = unpremultiply(pixels[p], alpha);
+            }
+            row[i + 3] = (byte) alpha;
+        }
+    }
+
+    private static byte unpremultiply(byte component, int alpha) {
+        return (byte) Math.min(0xFF, ((component & 0xFF) * 0xFF + alpha / 2) / alpha);
+    }
+
+    /**
+     * Filters the scanline with the filter type that gives the minimum sum
+     * of the absolute differences, among "None", "Sub", "Up" and "Paeth".
+     */
+    private static void filterRow(byte[] row, byte[] prior, byte[] out, int offset) {
+        long none = 0;
+        long sub = 0;
+        long up = 0;
+        long paeth = 0;
+        for (var i = 0; i < row.length; i++) {
+            var x = row[i] & 0xFF;
+            var a = i < BYTES_PER_PIXEL ? 0 : row[i - BYTES_PER_PIXEL] & 0xFF;
+            var b = prior[i] & 0xFF;
+            var c = i < BYTES_PER_PIXEL ? 0 : prior[i - BYTES_PER_PIXEL] & 0xFF;
+            none += Math.abs((byte) x);
+            sub += Math.abs((byte) (x - a));
+            up += Math.abs((byte) (x - b));
+            paeth += Math.abs((byte) (x - paethPredictor(a, b, c)));
+        }
+        var type = 0;
+        var min = none;
+        if (sub < min) {
+            type = 1;
+            min = sub;
+        }
+        if (up < min) {
+            type = 2;
+            min = up;
+        }
+        if (paeth < min) {
+            type = 4;
+        }
+        out[offset] = (byte) type;
+        for (var i = 0; i < row.length; i++) {
+            var x = row[i] & 0xFF;
+            var a = i < BYTES_PER_PIXEL ? 0 : row[i - BYTES_PER_PIXEL] & 0xFF;
+            var b = prior[i] & 0xFF;
+            var c = i < BYTES_PER_PIXEL ? 0 : prior[i - BYTES_PER_PIXEL] & 0xFF;
+            var predicted = switch (type) {
+                case 1 -> a;
+                case 2 -> b;
+                case 4 -> paethPredictor(a, b, c);
+                default -> 0;
+            };
+            out[offset + 1 + i] = (byte) (x - predicted);
+        }
+    }
+
+    private static int paethPredictor(int a, int b, int c) {
+        var p = a + b - c;
+        var pa = Math.abs(p - a);
+        var pb = Math.abs(p - b);
+        var pc = Math.abs(p - c);
+        if (pa <= pb && pa <= pc) {
+            return a;
+        }
+        return pb <= pc ? b : c;
+    }
+
+    /**
+     * Deflates the filtered data in chunks compressed in parallel.
+     *
+     * @return the compressed chunks that form a single raw deflate stream
+     */
+    private List<Chunk> deflate(byte[] data, ImageBuffers buffers) {
+        var chunks = Math.min(parallelism, Math.max(1, data.length / MIN_CHUNK_SIZE));
+        var chunkSize = (data.length + chunks - 1) / chunks;
+        var futures = new ArrayList<CompletableFuture<Chunk>>();
+        for (var start = 0; start < data.length || futures.isEmpty(); start += chunkSize) {
+            var from = start;
+            var length = Math.min(chunkSize, data.length - start);
+            var last = from + length >= data.length;
+            var output = buffers.bytes(DEFLATED + futures.size(), deflateBound(length));
+            futures.add(async(() -> deflateChunk(data, from, length, last, output)));
+        }
+        return futures.stream()
+                      .map(PngEncoder::join)
+                      .toList();
+    }
+
+    /**
+     * Deflates the chunk of the data into the passed array.
+     *
+     * <p>The array is replaced with a larger one if the chunk does not fit, which
+     * is not expected as the array is sized by the {@linkplain #deflateBound
+     * worst-case} compressed size.
+     */
+    private Chunk deflateChunk(byte[] data, int from, int length, boolean last, byte[] output) {
+        var deflater = new Deflater(compressionLevel, true);
+        try {
+            if (from > 0) {
+                var dictionaryLength = Math.min(DICTIONARY_SIZE, from);
+                deflater.setDictionary(data, from - dictionaryLength, dictionaryLength);
+            }
+            deflater.setInput(data, from, length);
+            var flush = Deflater.SYNC_FLUSH;
+            if (last) {
+                deflater.finish();
+                flush = Deflater.NO_FLUSH;
+            }
+            var bytes = output;
+            var count = 0;
+            do {
+                if (count == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                }
+                count += deflater.deflate(bytes, count, bytes.length - count, flush);
+            } while (last ? !deflater.finished() : count == bytes.length);
+            return new Chunk(bytes, count);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Returns the worst-case size of the deflated data of the passed length,
+     * including the sync flush marker.
+     */
+    private static int deflateBound(int length) {
+        return length + (length >> 12) + (length >> 14) + (length >> 25) + 64;
+    }
+
+    /**
+     * Returns the zlib stream header matching the compression level.
+     */
+    private byte[] zlibHeader() {
+        byte flags;
+        if (compressionLevel <= 1) {
+            flags = 0x01;
+        } else if (compressionLevel <= 5) {
+            flags = 0x5E;
+        } else if (compressionLevel == 6) {
+            flags = (byte) 0x9C;
+        } else {
+            flags = (byte) 0xDA;
+        }
+        return new byte[]{0x78, flags};
+    }
+
+    private static byte[] header(int width, int height) throws IOException {
+        var header = new ByteArrayOutputStream(13);
+        var out = new DataOutputStream(header);
+        out.writeInt(width);
+        out.writeInt(height);
+        // 8 bits per channel, RGBA, deflate, adaptive filtering, no interlace.
+        out.write(new byte[]{8, 6, 0, 0, 0});
+        return header.toByteArray();
+    }
+
+    private static void writeChunk(DataOutputStream out, String type, byte[] data)
+            throws IOException {
+        var typeBytes = type.getBytes(US_ASCII);
+        var crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        out.writeInt(data.length);
+        out.write(typeBytes);
+        out.write(data);
+        out.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Writes the {@code IDAT} chunk with the zlib stream made of the passed
+     * compressed chunks, without copying them into a single array.
+     */
+    private void writeIdat(DataOutputStream out, List<Chunk> compressed, int checksum)
+            throws IOException {
+        var zlibHeader = zlibHeader();
+        var trailer = intBytes(checksum);
+        var length = zlibHeader.length + trailer.length;
+        for (var chunk : compressed) {
+            length += chunk.length();
+        }
+        var typeBytes = "IDAT".getBytes(US_ASCII);
+        var crc = new CRC32();
+        crc.update(typeBytes);
+        out.writeInt(length);
+        out.write(typeBytes);
+        crc.update(zlibHeader);
+        out.write(zlibHeader);
+        for (var chunk : compressed) {
+            crc.update(chunk.bytes(), 0, chunk.length());
+            out.write(chunk.bytes(), 0, chunk.length());
+        }
+        crc.update(trailer);
+        out.write(trailer);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static int adler32(byte[] data) {
+        var adler = new Adler32();
+        adler.update(data);
+        return (int) adler.getValue();
+    }
+
+    private static byte[] intBytes(int value) {
+        return new byte[]{
+                (byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value
+        };
+    }
+
+    /**
+     * Runs the task on the executor, or in the calling thread if the encoder
+     * is single-threaded.
+     */
+    private <T> CompletableFuture<T> async(Supplier<T> task) {
+        if (parallelism == 1) {
+            return CompletableFuture.completedFuture(task.get());
+        }
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A compressed chunk of the filtered data.
+     *
+     * @param bytes the array holding the compressed data
+     * @param length the number of the compressed bytes in the array
+     */
+    private record Chunk(byte[] bytes, int length) {
+    }
+}
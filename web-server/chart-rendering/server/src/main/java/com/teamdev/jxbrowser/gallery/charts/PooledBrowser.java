@@ -0,0 +1,241 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import com.teamdev.jxbrowser.browser.Browser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link Browser} that belongs to a {@link BrowserPool}, along with its own
+ * workspace on the local file system.
+ *
+ * <p>The instance is obtained via {@link BrowserPool#acquire()} and must be
+ * returned to the pool by {@linkplain #close() closing} it, preferably with
+ * the try-with-resources statement.
+ */
+final class PooledBrowser implements AutoCloseable {
+
+    /**
+     * The pool this browser belongs to.
+     */
+    private final BrowserPool pool;
+
+    /**
+     * The engine this browser belongs to.
+     */
+    private final EngineShard engine;
+
+    /**
+     * The name of the browser workspace.
+     */
+    private final String name;
+
+    /**
+     * The browser used for rendering the charts.
+     */
+    private final Browser browser;
+
+    /**
+     * The page on which this browser draws the charts.
+     */
+    private final ChartPage page;
+
+    /**
+     * The directory where the images exported by this browser are saved
+     * in the debug mode.
+     */
+    private final Path imagesDir;
+
+    /**
+     * The buffers the images exported by this browser are converted
+     * and encoded with.
+     */
+    private final ImageBuffers imageBuffers = new ImageBuffers();
+
+    /**
+     * Whether this browser is currently checked out of the pool.
+     */
+    private final AtomicBoolean checkedOut = new AtomicBoolean();
+
+    /**
+     * The time this browser was last checked out at, as of {@link System#nanoTime()}.
+     */
+    private volatile long checkedOutAt;
+
+    /**
+     * The number of times this browser has been checked out.
+     */
+    private volatile int renders;
+
+    /**
+     * Creates a new instance and pre-warms the passed browser by loading
+     * the {@linkplain ChartPage chart page} in it.
+     *
+     * @param pool the pool this browser belongs to
+     * @param engine the engine this browser belongs to
+     * @param browser the browser used for rendering the charts
+     * @param name the name of the browser workspace
+     */
+    PooledBrowser(BrowserPool pool, EngineShard engine, Browser browser, String name) {
+        this.pool = pool;
+        this.engine = engine;
+        this.name = name;
+        this.browser = browser;
+        this.imagesDir = Path.of("images", name);
+        this.page = ChartPage.load(browser, createDirectories(Path.of("widgets", name)));
+    }
+
+    /**
+     * Returns the browser used for rendering the charts.
+     */
+    Browser browser() {
+        return browser;
+    }
+
+    /**
+     * Returns the engine this browser belongs to.
+     */
+    EngineShard engine() {
+        return engine;
+    }
+
+    /**
+     * Returns the name of the browser workspace.
+     */
+    String name() {
+        return name;
+    }
+
+    /**
+     * Returns the page on which this browser draws the charts.
+     */
+    ChartPage page() {
+        return page;
+    }
+
+    /**
+     * Returns the directory where the images exported by this browser are saved
+     * in the debug mode, creating it if necessary.
+     */
+    Path imagesDir() {
+        return createDirectories(imagesDir);
+    }
+
+    /**
+     * Returns the buffers the exported images are converted and encoded with.
+     *
+     * <p>The buffers may only be used while this browser is checked out.
+     */
+    ImageBuffers imageBuffers() {
+        return imageBuffers;
+    }
+
+    /**
+     * Marks this browser as checked out of the pool.
+     */
+    PooledBrowser checkOut() {
+        checkedOutAt = System.nanoTime();
+        renders++;
+        checkedOut.set(true);
+        return this;
+    }
+
+    /**
+     * Tells whether this browser is currently checked out of the pool.
+     */
+    boolean isCheckedOut() {
+        return checkedOut.get();
+    }
+
+    /**
+     * Returns the number of times this browser has been checked out.
+     */
+    int renders() {
+        return renders;
+    }
+
+    /**
+     * Returns the time this browser has been checked out for, in nanoseconds.
+     */
+    long busyTime() {
+        return System.nanoTime() - checkedOutAt;
+    }
+
+    /**
+     * Marks this browser as returned to the pool.
+     *
+     * <p>The browser stays checked out while the pool decides whether to recycle it,
+     * so that the watchdog still closes it if the page hangs.
+     */
+    void checkIn() {
+        checkedOut.set(false);
+    }
+
+    /**
+     * Returns this browser to the pool.
+     *
+     * <p>Subsequent invocations have no effect until the browser
+     * is checked out again.
+     */
+    @Override
+    public void close() {
+        if (checkedOut.get()) {
+            pool.release(this);
+        }
+    }
+
+    /**
+     * Marks the page of this browser as broken, and closes the browser.
+     *
+     * <p>The rendering that is still in progress in this browser fails,
+     * and the browser is replaced once it is returned to the pool.
+     */
+    void terminate() {
+        page.markBroken();
+        dispose();
+    }
+
+    /**
+     * Closes the browser for good, instead of returning it to the pool.
+     */
+    void dispose() {
+        if (!browser.isClosed()) {
+            browser.close();
+        }
+    }
+
+    private static Path createDirectories(Path dir) {
+        try {
+            return Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Unable to create the browser workspace: `%s`.".formatted(dir), e
+            );
+        }
+    }
+}
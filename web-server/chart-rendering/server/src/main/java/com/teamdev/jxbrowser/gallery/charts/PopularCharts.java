@@ -0,0 +1,247 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import jakarta.inject.Singleton;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The charts requested most often.
+ *
+ * <p>The requests are counted in a {@link CountMinSketch}, so the memory it takes
+ * does not depend on the number of distinct charts. Along with the sketch,
+ * the {@linkplain PreRenderConfiguration#getTopCharts() top charts} are kept
+ * with their estimated counts. A chart enters the top once its count exceeds
+ * the smallest one there, and pushes that chart out.
+ *
+ * <p>Every {@value #DECAY_PERIOD} requests, all the counts are halved, so
+ * the popularity follows the recent traffic.
+ *
+ * <p>The requests are counted on the HTTP server threads, so counting never
+ * waits for a lock. Entering the top and halving the counts take one, only if
+ * it is free. Otherwise, the chart tries to enter the top again on its next
+ * request, and the counts are halved on one of the next requests.
+ */
+@Singleton
+final class PopularCharts {
+
+    /**
+     * The number of the hash functions of the sketch.
+     */
+    private static final int SKETCH_DEPTH = 4;
+
+    /**
+     * The number of the counters per hash function of the sketch.
+     */
+    private static final int SKETCH_WIDTH = 4096;
+
+    /**
+     * The number of the requests after which the counts are halved.
+     */
+    private static final int DECAY_PERIOD = 10 * SKETCH_WIDTH;
+
+    /**
+     * The offset basis of the 64-bit FNV-1a hash.
+     */
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+
+    /**
+     * The prime of the 64-bit FNV-1a hash.
+     */
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    /**
+     * The estimated request counts of the charts.
+     */
+    private final CountMinSketch sketch = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+
+    /**
+     * The top charts along with their estimated counts.
+     */
+    private final Map<ExportKey, Long> top = new ConcurrentHashMap<>();
+
+    /**
+     * The lock that guards the charts entering and leaving the top, and the halving
+     * of the counts.
+     */
+    private final ReentrantLock topLock = new ReentrantLock();
+
+    /**
+     * The maximum number of the top charts.
+     */
+    private final int capacity;
+
+    /**
+     * The count a chart has to exceed to enter the top, which is the smallest count
+     * of the top once it is full.
+     */
+    private volatile long admission;
+
+    /**
+     * The number of the requests so far.
+     */
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * Whether the counts are due to be halved.
+     */
+    private final AtomicBoolean decayDue = new AtomicBoolean();
+
+    /**
+     * The time of the last request, as of {@link System#nanoTime()}.
+     */
+    private volatile long lastRequest = System.nanoTime();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param configuration the configuration of the pre-rendering
+     */
+    PopularCharts(PreRenderConfiguration configuration) {
+        this.capacity = Math.max(1, configuration.getTopCharts());
+    }
+
+    /**
+     * Counts a request of the chart.
+     *
+     * @param key the key of the requested chart
+     */
+    void record(ExportKey key) {
+        lastRequest = System.nanoTime();
+        var count = sketch.add(hash(key));
+        var inTop = top.computeIfPresent(key, (chart, topCount) -> Math.max(topCount, count));
+        if (inTop == null && count > admission && topLock.tryLock()) {
+            try {
+                admit(key, count);
+            } finally {
+                topLock.unlock();
+            }
+        }
+        if (requests.incrementAndGet() % DECAY_PERIOD == 0) {
+            decayDue.set(true);
+        }
+        if (decayDue.get() && topLock.tryLock()) {
+            try {
+                if (decayDue.getAndSet(false)) {
+                    sketch.halve();
+                    top.replaceAll((chart, topCount) -> topCount >>> 1);
+                    updateAdmission();
+                }
+            } finally {
+                topLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Puts the chart to the top, pushing the least requested one out if the top
+     * is full.
+     *
+     * <p>Must be called under the {@linkplain #topLock lock}.
+     */
+    private void admit(ExportKey key, long count) {
+        if (top.size() >= capacity) {
+            var least = top.entrySet()
+                           .stream()
+                           .min(Map.Entry.comparingByValue())
+                           .orElseThrow();
+            if (count <= least.getValue()) {
+                return;
+            }
+            top.remove(least.getKey());
+        }
+        top.put(key, count);
+        updateAdmission();
+    }
+
+    /**
+     * Updates the count a chart has to exceed to enter the top.
+     *
+     * <p>Must be called under the {@linkplain #topLock lock}.
+     */
+    private void updateAdmission() {
+        admission = top.size() < capacity
+                    ? 0
+                    : top.values()
+                         .stream()
+                         .mapToLong(Long::longValue)
+                         .min()
+                         .orElse(0);
+    }
+
+    /**
+     * Returns the top charts from the most to the least requested.
+     */
+    List<ExportKey> top() {
+        return top.entrySet()
+                  .stream()
+                  .sorted(Map.Entry.<ExportKey, Long>comparingByValue(Comparator.reverseOrder()))
+                  .map(Map.Entry::getKey)
+                  .toList();
+    }
+
+    /**
+     * Returns the time of the last request, as of {@link System#nanoTime()}.
+     */
+    long lastRequest() {
+        return lastRequest;
+    }
+
+    /**
+     * Returns the 64-bit hash of the chart, computed from its content rather than
+     * from its {@link Object#hashCode() hash code}, so that the rows of the sketch
+     * get independent hash functions.
+     */
+    private static long hash(ExportKey key) {
+        var hash = FNV_OFFSET_BASIS;
+        hash = fnv(hash, key.dataset()
+                            .ordinal());
+        var params = key.params();
+        for (var i = 0; i < params.length(); i++) {
+            hash = fnv(hash, params.charAt(i));
+        }
+        var size = key.size();
+        hash = fnv(hash, key.format()
+                            .ordinal());
+        hash = fnv(hash, size.width());
+        hash = fnv(hash, size.height());
+        hash = fnv(hash, Double.doubleToLongBits(size.scale()));
+        hash = fnv(hash, key.pngCompressionLevel()
+                            .orElse(-1));
+        return CountMinSketch.mix(hash);
+    }
+
+    /**
+     * Adds the value to the FNV-1a hash.
+     */
+    private static long fnv(long hash, long value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+}
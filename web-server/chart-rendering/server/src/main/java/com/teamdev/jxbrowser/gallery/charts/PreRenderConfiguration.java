@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The configuration of the {@link PreRenderer}.
+ *
+ * <p>The values are read from the {@code charts.export.pre-render} section
+ * of {@code application.yml}.
+ */
+@ConfigurationProperties("charts.export.pre-render")
+final class PreRenderConfiguration {
+
+    /**
+     * Whether the popular charts are rendered in advance.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The number of the most requested charts kept in the cache.
+     */
+    private int topCharts = 32;
+
+    /**
+     * How often the render queue is checked for being idle.
+     */
+    private Duration interval = Duration.ofSeconds(5);
+
+    /**
+     * Tells whether the popular charts are rendered in advance.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the popular charts are rendered in advance.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the number of the most requested charts kept in the cache.
+     */
+    public int getTopCharts() {
+        return topCharts;
+    }
+
+    /**
+     * Sets the number of the most requested charts kept in the cache.
+     */
+    public void setTopCharts(int topCharts) {
+        this.topCharts = topCharts;
+    }
+
+    /**
+     * Returns how often the render queue is checked for being idle.
+     */
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * Sets how often the render queue is checked for being idle.
+     */
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Renders the {@linkplain PopularCharts popular charts} into the {@link ExportCache}
+ * while the server is idle, so that their requests are served from the cache.
+ *
+ * <p>Every {@linkplain PreRenderConfiguration#getInterval() interval}, if no chart
+ * is being rendered or waiting in the {@link RenderQueue}, the top charts missing
+ * from the cache are rendered one by one, from the most requested one. Each of
+ * them is submitted to the queue as a {@linkplain RequestClass#BATCH batch} request
+ * only once the previous one is done. As soon as a chart is requested, or waits
+ * in the queue, no more charts are pre-rendered until the queue is idle again.
+ * So, a real request waits for one pre-rendered chart at most, and only if all
+ * the browsers are busy.
+ *
+ * <p>The number of the pre-rendered charts is exposed as
+ * the {@code charts.export.pre-rendered} metric.
+ */
+@Singleton
+final class PreRenderer {
+
+    /**
+     * The logger of the failed pre-renderings.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(PreRenderer.class);
+
+    /**
+     * The request the charts are pre-rendered by.
+     */
+    private static final RenderRequest REQUEST =
+            new RenderRequest(RequestClass.BATCH, "pre-renderer");
+
+    /**
+     * The charts requested most often.
+     */
+    private final PopularCharts popular;
+
+    /**
+     * The cache the charts are pre-rendered into.
+     */
+    private final ExportCache cache;
+
+    /**
+     * The queue the charts are rendered through.
+     */
+    private final RenderQueue queue;
+
+    /**
+     * The renderer of the charts.
+     */
+    private final ChartRenderer renderer;
+
+    /**
+     * Whether the popular charts are rendered in advance.
+     */
+    private final boolean enabled;
+
+    /**
+     * How often the render queue is checked for being idle.
+     */
+    private final Duration interval;
+
+    /**
+     * The executor that checks the queue and pre-renders the charts.
+     */
+    private final ScheduledExecutorService executor =
+            Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("pre-renderer"));
+
+    /**
+     * The number of the pre-rendered charts.
+     */
+    private final Counter preRendered;
+
+    /**
+     * Creates a new instance and registers its metrics.
+     *
+     * @param popular the charts requested most often
+     * @param cache the cache the charts are pre-rendered into
+     * @param queue the queue the charts are rendered through
+     * @param renderer the renderer of the charts
+     * @param configuration the configuration of the pre-rendering
+     * @param registry the registry of the application metrics
+     */
+    PreRenderer(PopularCharts popular,
+                ExportCache cache,
+                RenderQueue queue,
+                ChartRenderer renderer,
+                PreRenderConfiguration configuration,
+                MeterRegistry registry) {
+        this.popular = popular;
+        this.cache = cache;
+        this.queue = queue;
+        this.renderer = renderer;
+        this.enabled = configuration.isEnabled();
+        this.interval = configuration.getInterval();
+        this.preRendered = registry.counter("charts.export.pre-rendered");
+    }
+
+    /**
+     * Starts checking the queue once the server starts, unless disabled.
+     */
+    @EventListener
+    void onStartup(StartupEvent event) {
+        if (enabled) {
+            var period = interval.toMillis();
+            executor.scheduleWithFixedDelay(this::preRender, period, period, MILLISECONDS);
+        }
+    }
+
+    /**
+     * Renders the top charts missing from the cache while the queue stays idle.
+     */
+    private void preRender() {
+        if (!queue.isIdle()) {
+            return;
+        }
+        var started = System.nanoTime();
+        for (var key : popular.top()) {
+            if (popular.lastRequest() - started > 0 || queue.depth() > 0) {
+                return;
+            }
+            if (cache.contains(key)) {
+                continue;
+            }
+            try {
+                queue.call(REQUEST, () -> {
+                    cache.put(key, renderer.render(key));
+                    return null;
+                });
+                preRendered.increment();
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Unable to pre-render the chart {}.", key, e);
+            }
+        }
+    }
+
+    /**
+     * Stops pre-rendering the charts.
+     */
+    @PreDestroy
+    void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import java.util.OptionalInt;
+
+/**
+ * The quality the charts are exported at, as chosen by the {@link AdaptiveQuality}.
+ *
+ * <p>A reduced quality lowers the {@linkplain ChartSize#scale() scale} of the raster
+ * charts towards the floor, and the PNG images are compressed with less effort.
+ * The {@linkplain ImageFormat#isVector() vector} charts are always exported as is.
+ *
+ * @param level the level of the reduction, {@code 0} for the full quality
+ * @param scaleReduction the share of the way from the requested scale down to
+ *         the floor, from 0 to 1
+ * @param minScale the floor of the scale
+ * @param pngCompressionLevel the compression level of the PNG images, lower than
+ *         the configured one, or empty for the configured one
+ */
+record RenderQuality(int level,
+                     double scaleReduction,
+                     double minScale,
+                     OptionalInt pngCompressionLevel) {
+
+    /**
+     * The full quality, as requested.
+     */
+    static final RenderQuality FULL = new RenderQuality(0, 0, 0, OptionalInt.empty());
+
+    /**
+     * Tells whether this is the full quality.
+     */
+    boolean isFull() {
+        return level == 0;
+    }
+
+    /**
+     * Returns the key of the chart exported at this quality instead of the requested one.
+     *
+     * <p>The key tells everything that is actually reduced, so that a reduced chart
+     * is never cached under the key of the full-quality one. The scale is rounded
+     * to hundredths, so that the charts exported at the same level share the cache
+     * entries. The PNG compression is only reduced when the server encodes the images.
+     *
+     * @param key the key of the requested chart
+     * @param mode the way the images of the drawn charts are obtained
+     * @return the key of the chart to export, which is the requested one if nothing
+     *         is reduced
+     */
+    ExportKey apply(ExportKey key, CaptureMode mode) {
+        if (isFull() || key.format()
+                           .isVector()) {
+            return key;
+        }
+        var size = key.size();
+        var scale = size.scale();
+        var reducedScale = scale;
+        if (scale > minScale) {
+            var reduced = Math.round((scale - (scale - minScale) * scaleReduction) * 100) / 100.0;
+            reducedScale = Math.min(scale, Math.max(minScale, reduced));
+        }
+        var compressionLevel = key.format() == ImageFormat.PNG && mode == CaptureMode.BITMAP
+                               ? pngCompressionLevel
+                               : OptionalInt.empty();
+        if (reducedScale == scale && compressionLevel.isEmpty()) {
+            return key;
+        }
+        var reducedSize = new ChartSize(size.width(), size.height(), reducedScale);
+        return new ExportKey(
+                key.dataset(), key.params(), key.format(), reducedSize, compressionLevel
+        );
+    }
+
+    /**
+     * Describes the quality of the exported chart for the client.
+     *
+     * @param requested the key of the requested chart
+     * @param exported the key of the exported chart, as {@linkplain #apply applied}
+     * @return {@code full}, or {@code reduced} along with the level, the scale,
+     *         and the PNG compression level if it is reduced
+     */
+    String describe(ExportKey requested, ExportKey exported) {
+        if (exported.equals(requested)) {
+            return "full";
+        }
+        var description = "reduced; level=%d; scale=%s".formatted(level, exported.size()
+                                                                                 .scale());
+        var compressionLevel = exported.pngCompressionLevel();
+        if (compressionLevel.isPresent()) {
+            description += "; png-compression-level=%d".formatted(compressionLevel.getAsInt());
+        }
+        return description;
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded queue of the charts waiting to be rendered, served by a dedicated
+ * executor.
+ *
+ * <p>The export endpoints submit the rendering to this queue and return right away,
+ * so the threads of the HTTP server never block on the browsers, and the other
+ * endpoints stay responsive under load. The executor runs as many threads as there
+ * are browsers in the {@link BrowserPool}.
+ *
+ * <p>The waiting charts are served by the {@link FairScheduler} rather than in order
+ * of arrival. The {@linkplain RequestClass#INTERACTIVE interactive} requests get
+ * a larger share of the browsers than the {@linkplain RequestClass#BATCH batch} ones,
+ * as set by their {@linkplain RenderQueueConfiguration#getInteractiveWeight() weights},
+ * so a large batch does not hold up the users clicking the export buttons,
+ * while it still takes the capacity they leave. A single client may not have
+ * more than {@linkplain RenderQueueConfiguration#getMaxPerClient() maxPerClient}
+ * charts rendered at once.
+ *
+ * <p>Once the queue is {@linkplain RenderQueueConfiguration#getCapacity() full},
+ * the new requests are rejected at once with {@link RenderingUnavailableException},
+ * instead of waiting for a browser for long and then timing out. The charts of
+ * the batch exports are never rejected, since each batch waits for one chart
+ * at a time, and the number of batches is bounded on its own. Neither do they
+ * take the capacity, so they never make the submitted requests rejected.
+ *
+ * <p>The queue exposes the following metrics, tagged with the request {@code class}:
+ * <ul>
+ *   <li>{@code charts.rendering.queue.depth}, the number of the waiting requests;
+ *   <li>{@code charts.rendering.queue.wait}, the time the requests wait in the queue;
+ *   <li>{@code charts.rendering.queue.rejected}, the number of the rejected requests.
+ * </ul>
+ */
+@Singleton
+final class RenderQueue {
+
+    /**
+     * The logger of the failed rendering tasks.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(RenderQueue.class);
+
+    /**
+     * The scheduler of the requests waiting to be rendered.
+     */
+    private final FairScheduler scheduler;
+
+    /**
+     * The executor rendering the charts.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The time the requests of each class wait in the queue.
+     */
+    private final Map<RequestClass, Timer> waitTimes = new EnumMap<>(RequestClass.class);
+
+    /**
+     * The number of the rejected requests of each class.
+     */
+    private final Map<RequestClass, Counter> rejected = new EnumMap<>(RequestClass.class);
+
+    /**
+     * Creates a new queue and registers its metrics.
+     *
+     * @param configuration the configuration of the queue
+     * @param poolConfiguration the configuration of the browser pool
+     * @param registry the registry of the application metrics
+     */
+    RenderQueue(RenderQueueConfiguration configuration,
+                BrowserPoolConfiguration poolConfiguration,
+                MeterRegistry registry) {
+        var weights = Map.of(
+                RequestClass.INTERACTIVE, configuration.getInteractiveWeight(),
+                RequestClass.BATCH, configuration.getBatchWeight()
+        );
+        this.scheduler = new FairScheduler(
+                weights, configuration.getCapacity(), configuration.getMaxPerClient()
+        );
+        var threads = poolConfiguration.getSize();
+        this.executor = Executors.newFixedThreadPool(
+                threads, new DaemonThreadFactory("chart-renderer")
+        );
+        for (var i = 0; i < threads; i++) {
+            executor.execute(this::serve);
+        }
+        for (var requestClass : RequestClass.values()) {
+            var tag = requestClass.id();
+            waitTimes.put(requestClass, Timer.builder("charts.rendering.queue.wait")
+                                             .tag("class", tag)
+                                             .register(registry));
+            rejected.put(requestClass,
+                         registry.counter("charts.rendering.queue.rejected", "class", tag));
+            Gauge.builder("charts.rendering.queue.depth", scheduler,
+                          queue -> queue.size(requestClass))
+                 .tag("class", tag)
+                 .register(registry);
+        }
+    }
+
+    /**
+     * Submits the rendering task to the queue.
+     *
+     * @param request the class and the client of the request
+     * @param task the task to run
+     * @param <T> the type of the task result
+     * @return the result of the task, failed with {@link RenderingUnavailableException}
+     *         if the queue is full
+     */
+    <T> CompletableFuture<T> submit(RenderRequest request, Callable<T> task) {
+        var result = new CompletableFuture<T>();
+        var queued = scheduler.offer(new FairScheduler.Task(request, run(request, task, result)));
+        if (!queued) {
+            rejected.get(request.requestClass())
+                    .increment();
+            result.completeExceptionally(new RenderingUnavailableException(
+                    "Too many charts are waiting to be rendered. Try again later."
+            ));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of the charts waiting to be rendered.
+     */
+    int depth() {
+        return scheduler.size();
+    }
+
+    /**
+     * Tells whether no chart is being rendered or waiting to be rendered.
+     */
+    boolean isIdle() {
+        return scheduler.isIdle();
+    }
+
+    /**
+     * Runs the rendering task of a batch export once its turn comes, and waits
+     * for it to complete.
+     *
+     * <p>Unlike the {@linkplain #submit submitted} tasks, such a task is queued
+     * even if the queue is full.
+     *
+     * @param request the class and the client of the request
+     * @param task the task to run
+     * @param <T> the type of the task result
+     * @return the result of the task
+     * @throws IOException if the task fails with an I/O error
+     */
+    <T> T call(RenderRequest request, Callable<T> task) throws IOException {
+        var result = new CompletableFuture<T>();
+        scheduler.put(new FairScheduler.Task(request, run(request, task, result)));
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            var cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the action that runs the task and completes the passed result.
+     */
+    private <T> Runnable run(RenderRequest request,
+                             Callable<T> task,
+                             CompletableFuture<T> result) {
+        var submitted = System.nanoTime();
+        var waitTime = waitTimes.get(request.requestClass());
+        return () -> {
+            waitTime.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        };
+    }
+
+    /**
+     * Serves the scheduled tasks until the executor is stopped.
+     *
+     * <p>A task that fails, even with an {@link Error}, completes its result
+     * exceptionally, and the next task is served.
+     */
+    private void serve() {
+        try {
+            while (true) {
+                var task = scheduler.take();
+                try {
+                    task.action()
+                        .run();
+                } catch (Throwable e) {
+                    LOGGER.error("A rendering task failed outside of its result.", e);
+                } finally {
+                    scheduler.done(task);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    /**
+     * Stops the executor rendering the charts.
+     */
+    @PreDestroy
+    void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The configuration of the {@link RenderQueue}.
+ *
+ * <p>The values are read from the {@code charts.rendering.queue} section
+ * of {@code application.yml}.
+ */
+@ConfigurationProperties("charts.rendering.queue")
+final class RenderQueueConfiguration {
+
+    /**
+     * The maximum number of the export requests waiting to be rendered.
+     */
+    private int capacity = 64;
+
+    /**
+     * The time after which the clients are advised to retry the rejected requests.
+     */
+    private Duration retryAfter = Duration.ofSeconds(5);
+
+    /**
+     * The weight of the interactive requests in sharing the browsers.
+     */
+    private int interactiveWeight = 8;
+
+    /**
+     * The weight of the batch requests in sharing the browsers.
+     */
+    private int batchWeight = 1;
+
+    /**
+     * The maximum number of the charts of a single client rendered at once.
+     */
+    private int maxPerClient = 4;
+
+    /**
+     * Whether the clients are identified by the {@code X-Client-Id} header
+     * rather than by their address.
+     */
+    private boolean trustClientId = false;
+
+    /**
+     * Returns the maximum number of the export requests waiting to be rendered.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the maximum number of the export requests waiting to be rendered.
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the time after which the clients are advised to retry
+     * the rejected requests.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Sets the time after which the clients are advised to retry the rejected requests.
+     */
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns the weight of the interactive requests in sharing the browsers.
+     */
+    public int getInteractiveWeight() {
+        return interactiveWeight;
+    }
+
+    /**
+     * Sets the weight of the interactive requests in sharing the browsers.
+     */
+    public void setInteractiveWeight(int interactiveWeight) {
+        this.interactiveWeight = interactiveWeight;
+    }
+
+    /**
+     * Returns the weight of the batch requests in sharing the browsers.
+     */
+    public int getBatchWeight() {
+        return batchWeight;
+    }
+
+    /**
+     * Sets the weight of the batch requests in sharing the browsers.
+     */
+    public void setBatchWeight(int batchWeight) {
+        this.batchWeight = batchWeight;
+    }
+
+    /**
+     * Returns the maximum number of the charts of a single client rendered at once.
+     */
+    public int getMaxPerClient() {
+        return maxPerClient;
+    }
+
+    /**
+     * Sets the maximum number of the charts of a single client rendered at once.
+     */
+    public void setMaxPerClient(int maxPerClient) {
+        this.maxPerClient = maxPerClient;
+    }
+
+    /**
+     * Tells whether the clients are identified by the {@code X-Client-Id} header
+     * rather than by their address.
+     *
+     * <p>The header is only to be trusted when the server runs behind a gateway
+     * that sets it, as otherwise any client may claim any ID.
+     */
+    public boolean isTrustClientId() {
+        return trustClientId;
+    }
+
+    /**
+     * Sets whether the clients are identified by the {@code X-Client-Id} header
+     * rather than by their address.
+     */
+    public void setTrustClientId(boolean trustClientId) {
+        this.trustClientId = trustClientId;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micronaut.http.HttpRequest;
+
+/**
+ * The class and the client of an export request, by which the {@link RenderQueue}
+ * schedules its rendering.
+ *
+ * <p>The class of a single-chart export is interactive, unless the client tells
+ * otherwise via the {@code X-Request-Class} header. A client that exports charts
+ * in bulk, such as a script, is expected to send {@code X-Request-Class: batch}.
+ * The batch exports are always of the batch class.
+ *
+ * <p>The client is identified by its address. Only if the server runs behind
+ * a gateway that sets the {@code X-Client-Id} header, and is {@linkplain
+ * RenderQueueConfiguration#isTrustClientId() configured} to trust it, the client
+ * is identified by the header. Otherwise, a client could claim a new ID
+ * with each request to get around the limit of its renders.
+ *
+ * @param requestClass the class of the request
+ * @param client the ID of the client
+ */
+record RenderRequest(RequestClass requestClass, String client) {
+
+    /**
+     * The header that tells the class of the request.
+     */
+    static final String CLASS_HEADER = "X-Request-Class";
+
+    /**
+     * The header that tells the ID of the client.
+     */
+    static final String CLIENT_HEADER = "X-Client-Id";
+
+    /**
+     * The ID of the client whose address is unknown.
+     */
+    private static final String UNKNOWN_CLIENT = "unknown";
+
+    /**
+     * Creates the request of the passed class for the client of the HTTP request.
+     *
+     * @param request the HTTP request
+     * @param requestClass the class of the request
+     * @param trustClientId whether to identify the client by the {@code X-Client-Id}
+     *         header if present
+     */
+    static RenderRequest of(HttpRequest<?> request,
+                            RequestClass requestClass,
+                            boolean trustClientId) {
+        return new RenderRequest(requestClass, client(request, trustClientId));
+    }
+
+    /**
+     * Creates the request of the class the HTTP request tells, interactive by default.
+     *
+     * @param request the HTTP request
+     * @param trustClientId whether to identify the client by the {@code X-Client-Id}
+     *         header if present
+     * @throws IllegalArgumentException if the requested class is unknown
+     */
+    static RenderRequest of(HttpRequest<?> request, boolean trustClientId) {
+        var requestClass = request.getHeaders()
+                                  .get(CLASS_HEADER);
+        return new RenderRequest(
+                requestClass == null ? RequestClass.INTERACTIVE : RequestClass.of(requestClass),
+                client(request, trustClientId)
+        );
+    }
+
+    /**
+     * Returns the ID of the client that has sent the HTTP request.
+     */
+    private static String client(HttpRequest<?> request, boolean trustClientId) {
+        if (trustClientId) {
+            var client = request.getHeaders()
+                                .get(CLIENT_HEADER);
+            if (client != null && !client.isBlank()) {
+                return client;
+            }
+        }
+        var address = request.getRemoteAddress();
+        return address != null ? address.getHostString() : UNKNOWN_CLIENT;
+    }
+}
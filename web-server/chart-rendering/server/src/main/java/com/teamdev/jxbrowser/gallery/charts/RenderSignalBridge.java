@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import com.teamdev.jxbrowser.js.JsAccessible;
+
+/**
+ * Receives the signals of the JavaScript code of the {@link ChartPage} that
+ * a chart is drawn and presented, so that the browser's bitmap contains it.
+ *
+ * <p>The page calls back either {@link #rendered} or {@link #fail}, passing
+ * the ID of the drawing it was asked to do.
+ *
+ * @implNote The class and its callback methods are {@code public}, as JavaScript
+ * can only access the public members of public Java classes.
+ */
+public final class RenderSignalBridge {
+
+    /**
+     * The name of the JavaScript {@code window} property holding this object.
+     */
+    static final String PROPERTY_NAME = "javaRenderSignal";
+
+    /**
+     * The completion of the last started drawing.
+     */
+    private final PageCallback<Boolean> drawing = new PageCallback<>("draw the chart");
+
+    /**
+     * Returns the completion of the last started drawing.
+     */
+    PageCallback<Boolean> drawing() {
+        return drawing;
+    }
+
+    /**
+     * Accepts the signal that the chart is drawn and presented.
+     *
+     * @param drawId the ID of the drawing
+     */
+    @JsAccessible
+    public void rendered(String drawId) {
+        drawing.complete(drawId, true);
+    }
+
+    /**
+     * Accepts the failure to draw the chart.
+     *
+     * @param drawId the ID of the drawing
+     * @param message the description of the failure
+     */
+    @JsAccessible
+    public void fail(String drawId, String message) {
+        drawing.fail(drawId, message);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import java.io.Serial;
+
+/**
+ * Thrown when a chart cannot be rendered because the rendering capacity
+ * of the server is exhausted at the moment.
+ *
+ * <p>The exception is transformed into the {@code 503 Service Unavailable}
+ * response by {@link RenderingUnavailableExceptionHandler}.
+ */
+final class RenderingUnavailableException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 0L;
+
+    /**
+     * Creates a new exception with the passed message.
+     */
+    RenderingUnavailableException(String message) {
+        super(message);
+    }
+
+    /**
+     * Creates a new exception with the passed message and cause.
+     */
+    RenderingUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
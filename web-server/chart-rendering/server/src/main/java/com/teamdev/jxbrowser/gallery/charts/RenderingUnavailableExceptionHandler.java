@@ -0,0 +1,69 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.server.exceptions.ExceptionHandler;
+import jakarta.inject.Singleton;
+
+import static io.micronaut.http.HttpHeaders.RETRY_AFTER;
+import static io.micronaut.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+/**
+ * Responds with {@code 503 Service Unavailable} when a chart cannot be rendered
+ * due to the {@linkplain RenderingUnavailableException exhausted} rendering capacity.
+ *
+ * <p>The response carries the {@code Retry-After} header with the
+ * {@linkplain RenderQueueConfiguration#getRetryAfter() configured} delay.
+ */
+@Produces
+@Singleton
+@Requires(classes = {RenderingUnavailableException.class, ExceptionHandler.class})
+final class RenderingUnavailableExceptionHandler
+        implements ExceptionHandler<RenderingUnavailableException, HttpResponse<?>> {
+
+    /**
+     * The value of the {@code Retry-After} header in seconds.
+     */
+    private final String retryAfter;
+
+    /**
+     * Creates a new handler.
+     *
+     * @param configuration the configuration of the render queue
+     */
+    RenderingUnavailableExceptionHandler(RenderQueueConfiguration configuration) {
+        var seconds = Math.max(1, configuration.getRetryAfter()
+                                               .toSeconds());
+        this.retryAfter = Long.toString(seconds);
+    }
+
+    @Override
+    public HttpResponse<?> handle(HttpRequest request, RenderingUnavailableException exception) {
+        return HttpResponse.status(SERVICE_UNAVAILABLE, exception.getMessage())
+                           .header(RETRY_AFTER, retryAfter);
+    }
+}
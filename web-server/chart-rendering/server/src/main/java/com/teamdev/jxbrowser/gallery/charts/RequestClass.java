@@ -0,0 +1,75 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import java.util.Arrays;
+
+/**
+ * The class of an export request, which tells how urgent the request is.
+ *
+ * <p>The {@link RenderQueue} shares the browsers between the classes in proportion
+ * to their {@linkplain RenderQueueConfiguration#getInteractiveWeight() weights}.
+ */
+enum RequestClass {
+
+    /**
+     * A request of a user waiting for the chart, such as a click on an export button.
+     */
+    INTERACTIVE("interactive"),
+
+    /**
+     * A request of a bulk job, which may take the spare capacity only.
+     */
+    BATCH("batch");
+
+    /**
+     * The ID of the class in the requests and the metrics.
+     */
+    private final String id;
+
+    RequestClass(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the ID of the class in the requests and the metrics.
+     */
+    String id() {
+        return id;
+    }
+
+    /**
+     * Returns the class with the passed ID.
+     *
+     * @param id the ID of the class, case-insensitive
+     * @throws IllegalArgumentException if there is no class with such an ID
+     */
+    static RequestClass of(String id) {
+        return Arrays.stream(values())
+                     .filter(requestClass -> requestClass.id.equalsIgnoreCase(id))
+                     .findFirst()
+                     .orElseThrow(() -> new IllegalArgumentException(
+                             "Unknown request class: `%s`.".formatted(id)
+                     ));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+/**
+ * The configuration of the {@link ChartWarmUp}.
+ *
+ * <p>The values are read from the {@code charts.warm-up} section
+ * of {@code application.yml}.
+ */
+@ConfigurationProperties("charts.warm-up")
+final class WarmUpConfiguration {
+
+    /**
+     * Whether the browsers are warmed up before the server reports its readiness.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The number of times each browser renders every chart.
+     */
+    private int rounds = 3;
+
+    /**
+     * Whether the server exits once it is warmed up, as in the training run
+     * that produces the class data sharing archive.
+     */
+    private boolean exitWhenDone = false;
+
+    /**
+     * Tells whether the browsers are warmed up before the server reports its readiness.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the browsers are warmed up before the server reports its readiness.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the number of times each browser renders every chart.
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Sets the number of times each browser renders every chart.
+     */
+    public void setRounds(int rounds) {
+        this.rounds = rounds;
+    }
+
+    /**
+     * Tells whether the server exits once it is warmed up.
+     */
+    public boolean isExitWhenDone() {
+        return exitWhenDone;
+    }
+
+    /**
+     * Sets whether the server exits once it is warmed up.
+     */
+    public void setExitWhenDone(boolean exitWhenDone) {
+        this.exitWhenDone = exitWhenDone;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright 2026, TeamDev
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.teamdev.jxbrowser.gallery.charts;
+
+/**
+ * Tells how much of the work to render a chart a browser has already done
+ * for the previous charts.
+ *
+ * <p>The constants are ordered from the coldest to the warmest.
+ */
+enum Warmth {
+
+    /**
+     * The page of the browser has to load and parse the dataset of the chart.
+     */
+    COLD("cold"),
+
+    /**
+     * The page holds the parsed dataset of the chart, so it only draws the chart.
+     */
+    DATASET("dataset"),
+
+    /**
+     * The page has last drawn a chart of the same dataset and size, so in addition,
+     * the view of the browser is not resized, and the canvas keeps its size.
+     */
+    CHART("chart");
+
+    /**
+     * The ID of the warmth in the metrics.
+     */
+    private final String id;
+
+    Warmth(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the ID of the warmth in the metrics.
+     */
+    String id() {
+        return id;
+    }
+
+    /**
+     * Tells whether this warmth is above {@link #COLD}.
+     */
+    boolean isWarm() {
+        return this != COLD;
+    }
+}